@@ -0,0 +1,57 @@
+package Algo;
+import Benchmarks.Reseaux;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Évaluation d'un mouvement par delta (EvaluateurDelta), sans l'appliquer.
+ * Placé dans le paquetage Algo pour accéder à l'évaluateur, qui n'est pas public.
+ * Les mouvements sont tirés à l'avance pour ne pas mesurer le générateur aléatoire.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluationMouvementBenchmark {
+
+    private static final int NB_MOUVEMENTS = 1 << 12;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int nbMaisons;
+
+    @Param({"100", "5000"}) // au-delà de EvaluateurDelta.SEUIL_INDEX: dispersion par IndexTaux
+    int nbGenerateurs;
+
+    private EvaluateurDelta evaluateur;
+    private final int[] maisons = new int[NB_MOUVEMENTS];
+    private final int[] autres = new int[NB_MOUVEMENTS];     // maison partenaire de l'échange
+    private final int[] generateurs = new int[NB_MOUVEMENTS];
+    private int i;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        ReseauCompact compact = new ReseauCompact(Reseaux.generer(nbMaisons, nbGenerateurs, 42));
+        evaluateur = new EvaluateurDelta(compact);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int m = 0; m < NB_MOUVEMENTS; m++) {
+            maisons[m] = random.nextInt(nbMaisons);
+            autres[m] = random.nextInt(nbMaisons);
+            generateurs[m] = random.nextInt(nbGenerateurs);
+        }
+    }
+
+    @Benchmark
+    public double deltaDeplacement() {
+        int m = i++ & (NB_MOUVEMENTS - 1);
+        return evaluateur.delta(maisons[m], generateurs[m]);
+    }
+
+    @Benchmark
+    public double deltaEchange() {
+        int m = i++ & (NB_MOUVEMENTS - 1);
+        return evaluateur.deltaEchange(maisons[m], autres[m]);
+    }
+}
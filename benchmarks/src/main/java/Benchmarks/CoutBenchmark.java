@@ -0,0 +1,52 @@
+package Benchmarks;
+import Modele.*;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Calcul du coût et vérification sur le modèle objet (ReseauElectrique).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoutBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int nbMaisons;
+
+    @Param({"100"})
+    int nbGenerateurs;
+
+    private ReseauElectrique reseau;
+    private PrintStream sortie;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        reseau = Reseaux.generer(nbMaisons, nbGenerateurs, 42);
+        sortie = Reseaux.couperSortie(); // verifierReseau affiche son verdict à chaque appel
+    }
+
+    @TearDown(Level.Trial)
+    public void terminer() {
+        System.setOut(sortie);
+    }
+
+    @Benchmark
+    public double calculerCoutSilencieux() {
+        return reseau.calculerCoutSilencieux();
+    }
+
+    @Benchmark
+    public double calculerDispersion() {
+        return reseau.calculerDispersion();
+    }
+
+    @Benchmark
+    public boolean verifierReseau() {
+        return reseau.verifierReseau();
+    }
+}
@@ -0,0 +1,45 @@
+package Benchmarks;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.annotations.Mode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lance tous les benchmarks avec le profileur GC (taux d'allocation):
+ * - évaluations: débit en ops/s puis temps moyen en ns/op
+ * - optimiseurs complets: une exécution mesurée par itération, en ms/op
+ *
+ * java -jar target/benchmarks.jar [filtre]
+ * (les options JMH complètes restent disponibles via org.openjdk.jmh.Main)
+ */
+public class Lanceur {
+
+    public static void main(String[] args) throws RunnerException {
+        String filtre = (args.length > 0) ? args[0] : ".*";
+        String evaluations = "(CoutBenchmark|EvaluationMouvementBenchmark)";
+
+        Options debit = new OptionsBuilder()
+                .include(evaluations + ".*" + filtre)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Options tempsMoyen = new OptionsBuilder()
+                .include(evaluations + ".*" + filtre)
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Options optimiseurs = new OptionsBuilder()
+                .include("OptimiseurBenchmark.*" + filtre)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(debit).run();
+        new Runner(tempsMoyen).run();
+        new Runner(optimiseurs).run();
+    }
+}
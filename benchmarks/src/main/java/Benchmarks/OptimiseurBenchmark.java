@@ -0,0 +1,64 @@
+package Benchmarks;
+import Algo.*;
+import Modele.*;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Exécutions complètes des optimiseurs. Chaque exécution repart de la même
+ * affectation initiale (restaurée hors mesure par un instantané ReseauCompact).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OptimiseurBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int nbMaisons;
+
+    @Param({"20"})
+    int nbGenerateurs;
+
+    @Param({"50"})
+    int k;
+
+    private ReseauElectrique reseau;
+    private ReseauCompact initial;
+    private PrintStream sortie;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        reseau = Reseaux.generer(nbMaisons, nbGenerateurs, 42);
+        initial = new ReseauCompact(reseau);
+        sortie = Reseaux.couperSortie();
+    }
+
+    @Setup(Level.Invocation)
+    public void restaurer() {
+        initial.appliquer();
+    }
+
+    @TearDown(Level.Trial)
+    public void terminer() {
+        System.setOut(sortie);
+    }
+
+    @Benchmark
+    public double optimiserReseau() {
+        Optimiseur.optimiserReseau(reseau, k);
+        return reseau.calculerCoutSilencieux();
+    }
+
+    /**
+     * Algorithme naïf avec une tentative par maison.
+     */
+    @Benchmark
+    public double optimiserNaif() {
+        Optimiseur.optimiserNaif(reseau, nbMaisons);
+        return reseau.calculerCoutSilencieux();
+    }
+}
@@ -0,0 +1,55 @@
+package Benchmarks;
+import Modele.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
+/**
+ * Réseaux synthétiques pour les benchmarks: types de consommation tirés au hasard,
+ * capacité totale ~110% de la consommation totale répartie inégalement (±30%),
+ * chaque maison connectée à un générateur aléatoire. Même graine = même réseau.
+ */
+public class Reseaux {
+
+    private static final PrintStream SILENCIEUX = new PrintStream(OutputStream.nullOutputStream());
+
+    public static ReseauElectrique generer(int nbMaisons, int nbGenerateurs, long graine) {
+        SplittableRandom random = new SplittableRandom(graine);
+        TypeConsommation[] types = TypeConsommation.values();
+        String[] typesMaisons = new String[nbMaisons];
+        long consommationTotale = 0;
+        for (int h = 0; h < nbMaisons; h++) {
+            TypeConsommation type = types[random.nextInt(types.length)];
+            typesMaisons[h] = type.name();
+            consommationTotale += type.getValeur();
+        }
+
+        PrintStream sortie = System.out;
+        System.setOut(SILENCIEUX); // les méthodes de construction affichent une ligne par élément
+        try {
+            ReseauElectrique reseau = new ReseauElectrique(10);
+            double capaciteMoyenne = 1.1 * consommationTotale / nbGenerateurs;
+            for (int g = 0; g < nbGenerateurs; g++) {
+                int capacite = (int) Math.max(1, Math.round(capaciteMoyenne * (0.7 + 0.6 * random.nextDouble())));
+                reseau.ajouterGenerateur("G" + g, capacite);
+            }
+            for (int h = 0; h < nbMaisons; h++) {
+                reseau.ajouterMaison("M" + h, typesMaisons[h]);
+                reseau.ajouterConnexion("M" + h, "G" + random.nextInt(nbGenerateurs));
+            }
+            return reseau;
+        } finally {
+            System.setOut(sortie);
+        }
+    }
+
+    /**
+     * Coupe la sortie standard (les méthodes du modèle et des optimiseurs affichent leur progression).
+     * @return la sortie d'origine, à restaurer après le benchmark
+     */
+    public static PrintStream couperSortie() {
+        PrintStream sortie = System.out;
+        System.setOut(SILENCIEUX);
+        return sortie;
+    }
+}
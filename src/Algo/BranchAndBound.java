@@ -0,0 +1,388 @@
+package Algo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Résolution exacte par séparation et évaluation (branch and bound) en profondeur,
+ * pour les petites et moyennes instances.
+ *
+ * Les maisons sont affectées une à une par consommation décroissante (FORTE d'abord):
+ * les grosses consommations, qui font le plus varier le coût, sont fixées en haut de l'arbre.
+ * Symétries coupées: deux maisons de même consommation prennent des générateurs d'indice
+ * croissant, et parmi des générateurs vides de même capacité seul le premier est essayé.
+ *
+ * Borne inférieure d'un nœud (charges partielles L_g, reste R à placer, total T, ℓ_g = L_g / C_g):
+ * - surcharge: Σ max(0, ℓ_g - 1) + max(0, R - Σ place libre) / C_max
+ * - dispersion: min sur m de Σ max(0, ℓ_g - m) + |T - Σ max(L_g, C_g m)| / C_max,
+ *   minorant de Σ |u_g - m| pour tout u_g ≥ ℓ_g de charge totale T, évalué aux points de rupture.
+ *
+ * Le haut de l'arbre est découpé en sous-arbres exécutés sur un ForkJoinPool (vol de tâches);
+ * la meilleure solution est partagée sans verrou (MeilleureSolution). Le critère d'arrêt
+ * interrompt la recherche: la borne rendue est alors le minimum des bornes des sous-arbres non explorés.
+ */
+public class BranchAndBound implements OptimisationStrategy {
+
+    // un sous-arbre n'est élagué que si sa borne dépasse le meilleur coût moins cette tolérance
+    private static final double TOLERANCE = 1e-9;
+    private static final int INTERVALLE_ARRET = 1024;
+    private static final int TACHES_PAR_THREAD = 16;
+
+    private final ForkJoinPool pool;
+
+    public BranchAndBound() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool  pool exécutant les sous-arbres (non fermé par cette classe)
+     */
+    public BranchAndBound(ForkJoinPool pool) throws IllegalArgumentException {
+        if (pool == null) {
+            throw new IllegalArgumentException("Le pool de threads ne peut pas être null.");
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public String getNom() {
+        return "Branch and bound exact (" + pool.getParallelism() + " threads)";
+    }
+
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        ResultatExact resultat = resoudre(compact, contexte.getCritere());
+        if (contexte.isVerbeux()) {
+            System.out.println(resultat);
+        }
+        return resultat.getCout();
+    }
+
+    /**
+     * Cherche l'affectation optimale et la laisse dans le réseau compact (sans l'appliquer au modèle).
+     * Part de la configuration courante améliorée par un Hill Climbing, qui sert de premier majorant.
+     */
+    public ResultatExact resoudre(ReseauCompact compact, CritereArret critere) throws IllegalArgumentException {
+        if (compact == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        if (critere == null) {
+            throw new IllegalArgumentException("Le critère d'arrêt ne peut pas être null.");
+        }
+        long debut = System.nanoTime();
+        if (compact.getNbMaisons() == 0 || compact.getNbGenerateurs() == 0) {
+            double cout = compact.calculerCout();
+            return new ResultatExact(cout, cout, true, cout, 0, 0);
+        }
+
+        ReseauCompact depart = new ReseauCompact(compact);
+        double coutHeuristique = new HillClimbingMultiPasses(1000, EnumSet.allOf(Voisinage.class))
+                .optimiser(depart, new ContexteRecherche(new SplittableRandom(1), false, critere));
+
+        Recherche recherche = new Recherche(compact, critere, pool.getParallelism(),
+                new MeilleureSolution(new Solution(coutHeuristique, depart.copierAffectation())));
+        int[] affectation = new int[compact.getNbMaisons()];
+        Arrays.fill(affectation, -1);
+        long[] charge = new long[compact.getNbGenerateurs()];
+        Sousarbre racine = new Sousarbre(recherche, 0, charge, affectation, recherche.borne(0, charge, new Tri(charge.length)));
+        pool.invoke(racine);
+
+        Solution meilleure = recherche.meilleure.get();
+        compact.chargerAffectation(meilleure.affectation);
+        boolean prouve = !recherche.interrompue;
+        double borne = prouve ? meilleure.cout : Math.min(meilleure.cout, Double.longBitsToDouble(recherche.borneOuverte.get()));
+        return new ResultatExact(meilleure.cout, borne, prouve, coutHeuristique,
+                recherche.noeuds.sum(), (System.nanoTime() - debut) / 1e9);
+    }
+
+    /**
+     * Données partagées par tous les sous-arbres d'une résolution.
+     */
+    private static class Recherche {
+        final int nbMaisons;
+        final int nbGenerateurs;
+        final int[] ordre;          // maisons par consommation décroissante
+        final int[] conso;          // consommation de ordre[i]
+        final long[] reste;         // somme des consommations de ordre[i..]
+        final int[] capacite;
+        final int[] identiquePrecedent; // générateur précédent de même capacité (-1 sinon)
+        final int penalite;
+        final long capaciteTotale;
+        final int capaciteMax;
+        final long total;
+        final int profondeurDecoupe;
+
+        final CritereArret critere;
+        final MeilleureSolution meilleure;
+        final LongAdder noeuds = new LongAdder();
+        final AtomicLong borneOuverte = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+        volatile boolean interrompue;
+
+        Recherche(ReseauCompact compact, CritereArret critere, int nbThreads, MeilleureSolution meilleure) {
+            this.nbMaisons = compact.getNbMaisons();
+            this.nbGenerateurs = compact.getNbGenerateurs();
+            this.capacite = compact.capacite;
+            this.penalite = compact.penalite;
+            this.critere = critere;
+            this.meilleure = meilleure;
+
+            Integer[] tri = new Integer[nbMaisons];
+            for (int h = 0; h < nbMaisons; h++) tri[h] = h;
+            Arrays.sort(tri, (h1, h2) -> Integer.compare(compact.consommation[h2], compact.consommation[h1]));
+            this.ordre = new int[nbMaisons];
+            this.conso = new int[nbMaisons];
+            this.reste = new long[nbMaisons + 1];
+            for (int i = 0; i < nbMaisons; i++) {
+                ordre[i] = tri[i];
+                conso[i] = compact.consommation[tri[i]];
+            }
+            for (int i = nbMaisons - 1; i >= 0; i--) {
+                reste[i] = reste[i + 1] + conso[i];
+            }
+            this.total = reste[0];
+
+            this.identiquePrecedent = new int[nbGenerateurs];
+            long somme = 0;
+            int max = 0;
+            for (int g = 0; g < nbGenerateurs; g++) {
+                identiquePrecedent[g] = -1;
+                for (int p = g - 1; p >= 0; p--) {
+                    if (capacite[p] == capacite[g]) {
+                        identiquePrecedent[g] = p;
+                        break;
+                    }
+                }
+                somme += capacite[g];
+                max = Math.max(max, capacite[g]);
+            }
+            this.capaciteTotale = somme;
+            this.capaciteMax = max;
+
+            // assez de sous-arbres pour occuper tous les threads malgré l'élagage
+            int cible = TACHES_PAR_THREAD * nbThreads;
+            int profondeur = 0;
+            for (long taches = 1; taches < cible && profondeur < nbMaisons && nbGenerateurs > 1; profondeur++) {
+                taches *= nbGenerateurs;
+            }
+            this.profondeurDecoupe = profondeur;
+        }
+
+        /**
+         * Borne inférieure du coût de toute complétion des charges partielles {@code charge}
+         * (maisons ordre[0..i-1] placées).
+         */
+        double borne(int i, long[] charge, Tri tri) {
+            long restant = reste[i];
+            double surcharge = 0;
+            long placeLibre = 0;
+            for (int g = 0; g < nbGenerateurs; g++) {
+                surcharge += Math.max(0, (double) charge[g] / capacite[g] - 1);
+                placeLibre += Math.max(0, capacite[g] - charge[g]);
+            }
+            surcharge += (double) Math.max(0, restant - placeLibre) / capaciteMax;
+            return tri.dispersionMin(charge, capacite, total, capaciteTotale, capaciteMax) + penalite * surcharge;
+        }
+
+        boolean doitArreter() {
+            if (!interrompue && critere.estAtteint(meilleure.getCout())) {
+                interrompue = true;
+            }
+            return interrompue;
+        }
+
+        // un sous-arbre de borne b est abandonné sans être exploré
+        void abandonner(double b) {
+            long actuel = borneOuverte.get();
+            while (b < Double.longBitsToDouble(actuel)
+                    && !borneOuverte.compareAndSet(actuel, Double.doubleToLongBits(b))) {
+                actuel = borneOuverte.get();
+            }
+        }
+    }
+
+    /**
+     * Tableaux de travail pour le minorant de dispersion (un par sous-arbre, pas d'allocation par nœud).
+     */
+    private static class Tri {
+        private final double[] taux;
+        private final long[] charge;
+        private final int[] capacite;
+
+        Tri(int nbGenerateurs) {
+            this.taux = new double[nbGenerateurs];
+            this.charge = new long[nbGenerateurs];
+            this.capacite = new int[nbGenerateurs];
+        }
+
+        /**
+         * min sur m de f(m) = Σ max(0, ℓ_g - m) + |T - M(m)| / C_max, M(m) = Σ max(L_g, C_g m).
+         * f est linéaire par morceaux et tend vers +∞ aux deux bouts: son minimum est atteint
+         * en un ℓ_g ou au point m* où M(m*) = T. Balayage des ℓ triés avec sommes cumulées.
+         */
+        double dispersionMin(long[] chargeNoeud, int[] capaciteReseau, long total, long capaciteTotale, int capaciteMax) {
+            int n = taux.length;
+            for (int g = 0; g < n; g++) {
+                // tri par insertion de (ℓ_g, L_g, C_g): G est petit
+                double t = (double) chargeNoeud[g] / capaciteReseau[g];
+                int j = g - 1;
+                while (j >= 0 && taux[j] > t) {
+                    taux[j + 1] = taux[j];
+                    charge[j + 1] = charge[j];
+                    capacite[j + 1] = capacite[j];
+                    j--;
+                }
+                taux[j + 1] = t;
+                charge[j + 1] = chargeNoeud[g];
+                capacite[j + 1] = capaciteReseau[g];
+            }
+
+            double sommeTauxAuDessus = 0;  // Σ_{j>k} ℓ_j
+            long chargeAuDessus = 0;       // Σ_{j>k} L_j
+            for (int g = 0; g < n; g++) {
+                sommeTauxAuDessus += taux[g];
+                chargeAuDessus += charge[g];
+            }
+            long capaciteEnDessous = 0;    // Σ_{j≤k} C_j
+            double meilleur = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < n; k++) {
+                double m = taux[k];
+                sommeTauxAuDessus -= taux[k];
+                chargeAuDessus -= charge[k];
+                capaciteEnDessous += capacite[k];
+                double masse = m * capaciteEnDessous + chargeAuDessus;
+                double f = (sommeTauxAuDessus - (n - k - 1) * m) + Math.abs(total - masse) / capaciteMax;
+                meilleur = Math.min(meilleur, f);
+                // m* dans [ℓ_k, ℓ_{k+1}]: M y vaut m Σ_{j≤k} C_j + Σ_{j>k} L_j
+                double suivant = (k + 1 < n) ? taux[k + 1] : Double.POSITIVE_INFINITY;
+                double mEtoile = (total - chargeAuDessus) / (double) capaciteEnDessous;
+                if (mEtoile > m && mEtoile < suivant) {
+                    meilleur = Math.min(meilleur, sommeTauxAuDessus - (n - k - 1) * mEtoile);
+                }
+            }
+            return Math.max(0, meilleur);
+        }
+    }
+
+    /**
+     * Sous-arbre à partir du nœud où les maisons ordre[0..profondeur-1] sont placées.
+     * Au-dessus de profondeurDecoupe, les fils deviennent des tâches; en dessous, exploration séquentielle.
+     */
+    private static class Sousarbre extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Recherche recherche;
+        private final int profondeur;
+        private final long[] charge;
+        private final int[] affectation;
+        private final double borne;
+        private final Tri tri;
+        // candidats par niveau: générateur et borne, triés par borne croissante
+        private int[][] candidats;
+        private double[][] bornes;
+        private int depuisControle;
+
+        Sousarbre(Recherche recherche, int profondeur, long[] charge, int[] affectation, double borne) {
+            this.recherche = recherche;
+            this.profondeur = profondeur;
+            this.charge = charge;
+            this.affectation = affectation;
+            this.borne = borne;
+            this.tri = new Tri(charge.length);
+        }
+
+        @Override
+        protected void compute() {
+            if (recherche.doitArreter()) {
+                recherche.abandonner(borne);
+                return;
+            }
+            if (borne >= recherche.meilleure.getCout() - TOLERANCE) return;
+            int nbMaisons = recherche.nbMaisons;
+            int nbGenerateurs = recherche.nbGenerateurs;
+            candidats = new int[nbMaisons + 1][nbGenerateurs];
+            bornes = new double[nbMaisons + 1][nbGenerateurs];
+
+            if (profondeur < recherche.profondeurDecoupe) {
+                int nb = developper(profondeur);
+                List<Sousarbre> fils = new ArrayList<>(nb);
+                int h = recherche.ordre[profondeur];
+                for (int k = 0; k < nb; k++) {
+                    int g = candidats[profondeur][k];
+                    long[] chargeFils = charge.clone();
+                    int[] affectationFils = affectation.clone();
+                    chargeFils[g] += recherche.conso[profondeur];
+                    affectationFils[h] = g;
+                    fils.add(new Sousarbre(recherche, profondeur + 1, chargeFils, affectationFils, bornes[profondeur][k]));
+                }
+                invokeAll(fils);
+            } else {
+                explorer(profondeur);
+            }
+        }
+
+        /**
+         * Remplit candidats[i] et bornes[i] avec les fils admissibles du nœud courant, triés par borne.
+         * @return le nombre de fils
+         */
+        private int developper(int i) {
+            int c = recherche.conso[i];
+            int gMin = (i > 0 && recherche.conso[i - 1] == c) ? affectation[recherche.ordre[i - 1]] : 0;
+            int[] gens = candidats[i];
+            double[] b = bornes[i];
+            int nb = 0;
+            for (int g = gMin; g < recherche.nbGenerateurs; g++) {
+                int p = recherche.identiquePrecedent[g];
+                if (charge[g] == 0 && p >= gMin && charge[p] == 0) continue; // générateur vide équivalent déjà essayé
+                charge[g] += c;
+                double borneFils = recherche.borne(i + 1, charge, tri);
+                charge[g] -= c;
+                int k = nb++;
+                while (k > 0 && b[k - 1] > borneFils) {
+                    b[k] = b[k - 1];
+                    gens[k] = gens[k - 1];
+                    k--;
+                }
+                b[k] = borneFils;
+                gens[k] = g;
+            }
+            return nb;
+        }
+
+        private void explorer(int i) {
+            recherche.noeuds.increment();
+            if (i == recherche.nbMaisons) {
+                double cout = ReseauCompact.cout(charge, recherche.capacite, recherche.penalite);
+                recherche.meilleure.proposer(cout, affectation);
+                return;
+            }
+            int nb = developper(i);
+            int h = recherche.ordre[i];
+            int c = recherche.conso[i];
+            for (int k = 0; k < nb; k++) {
+                if (bornes[i][k] >= recherche.meilleure.getCout() - TOLERANCE) return; // fils triés: les suivants aussi
+                if (++depuisControle >= INTERVALLE_ARRET) {
+                    depuisControle = 0;
+                    if (recherche.doitArreter()) {
+                        recherche.abandonner(bornes[i][k]);
+                        return;
+                    }
+                }
+                int g = candidats[i][k];
+                charge[g] += c;
+                affectation[h] = g;
+                explorer(i + 1);
+                affectation[h] = -1;
+                charge[g] -= c;
+                if (recherche.interrompue) {
+                    if (k + 1 < nb) recherche.abandonner(bornes[i][k + 1]);
+                    return;
+                }
+            }
+        }
+    }
+}
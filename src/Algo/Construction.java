@@ -0,0 +1,160 @@
+package Algo;
+import java.util.Arrays;
+
+/**
+ * Heuristiques constructives: toutes les maisons sont (re)connectées en O(H log G), sans
+ * tenir compte des connexions existantes. Le résultat est presque équilibré et sert de point
+ * de départ à la recherche locale, ou de solution directe sur les très grands réseaux.
+ *
+ * Les maisons sont regroupées par consommation (tri par paquets sur les T valeurs distinctes,
+ * 3 en pratique) et traitées de la plus forte à la plus faible.
+ */
+public class Construction {
+
+    public static void construire(ReseauCompact compact, Initialisation initialisation) throws IllegalArgumentException {
+        if (compact == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        if (initialisation == null) {
+            throw new IllegalArgumentException("L'initialisation ne peut pas être null.");
+        }
+        if (compact.getNbMaisons() == 0 || compact.getNbGenerateurs() == 0) return;
+
+        int[][] paquets = paquetsParConsommation(compact.consommation);
+        Arrays.fill(compact.affectation, -1);
+        Arrays.fill(compact.charge, 0);
+        switch (initialisation) {
+            case GLOUTONNE:
+                gloutonne(compact, paquets);
+                break;
+            case PROPORTIONNELLE:
+                proportionnelle(compact, paquets);
+                break;
+        }
+    }
+
+    /**
+     * Plus grosses consommations d'abord, chacune sur le générateur dont le taux après ajout
+     * est le plus faible. Le tas est ordonné sur (charge + c) / capacité: dans un paquet c est
+     * constant, seule la racine change après une affectation (un tamisage, O(log G)).
+     */
+    private static void gloutonne(ReseauCompact compact, int[][] paquets) {
+        int nbGenerateurs = compact.getNbGenerateurs();
+        int[] tas = new int[nbGenerateurs];
+        double[] cle = new double[nbGenerateurs];
+
+        for (int[] paquet : paquets) {
+            int c = compact.consommation[paquet[0]];
+            for (int g = 0; g < nbGenerateurs; g++) {
+                tas[g] = g;
+                cle[g] = tauxApresAjout(compact, g, c);
+            }
+            for (int i = nbGenerateurs / 2 - 1; i >= 0; i--) {
+                tamiser(tas, cle, i);
+            }
+            for (int h : paquet) {
+                int g = tas[0];
+                compact.affectation[h] = g;
+                compact.charge[g] += c;
+                cle[g] = tauxApresAjout(compact, g, c);
+                tamiser(tas, cle, 0);
+            }
+        }
+    }
+
+    private static double tauxApresAjout(ReseauCompact compact, int g, int c) {
+        int capacite = compact.capacite[g];
+        return (capacite > 0) ? (double) (compact.charge[g] + c) / capacite : Double.POSITIVE_INFINITY;
+    }
+
+    // tas binaire minimum sur cle[], ex aequo départagés par indice (résultat reproductible)
+    private static void tamiser(int[] tas, double[] cle, int i) {
+        int n = tas.length;
+        int g = tas[i];
+        while (true) {
+            int enfant = 2 * i + 1;
+            if (enfant >= n) break;
+            if (enfant + 1 < n && avant(tas[enfant + 1], tas[enfant], cle)) enfant++;
+            if (!avant(tas[enfant], g, cle)) break;
+            tas[i] = tas[enfant];
+            i = enfant;
+        }
+        tas[i] = g;
+    }
+
+    private static boolean avant(int g1, int g2, double[] cle) {
+        return cle[g1] < cle[g2] || (cle[g1] == cle[g2] && g1 < g2);
+    }
+
+    /**
+     * Répartition au prorata des capacités: après chaque paquet de consommation c, la cible de g
+     * est la charge placée jusque-là × C_g / ΣC. Le générateur g reçoit ⌊(cible_g − charge_g) / c⌋
+     * maisons du paquet, les maisons restantes vont aux plus grands restes; les arrondis d'un
+     * paquet sont ainsi rattrapés par les suivants. Les générateurs sont servis tour à tour
+     * jusqu'à leur quota.
+     */
+    private static void proportionnelle(ReseauCompact compact, int[][] paquets) {
+        int nbGenerateurs = compact.getNbGenerateurs();
+        long capaciteTotale = 0;
+        for (int g = 0; g < nbGenerateurs; g++) {
+            capaciteTotale += Math.max(0, compact.capacite[g]);
+        }
+        if (capaciteTotale == 0) {
+            gloutonne(compact, paquets);
+            return;
+        }
+        int[] quota = new int[nbGenerateurs];
+        long[] restes = new long[nbGenerateurs];
+        long chargePlacee = 0;
+
+        for (int[] paquet : paquets) {
+            int c = compact.consommation[paquet[0]];
+            int nombre = paquet.length;
+            chargePlacee += (long) c * nombre;
+            int distribues = 0;
+            for (int g = 0; g < nbGenerateurs; g++) {
+                double cible = (double) chargePlacee * Math.max(0, compact.capacite[g]) / capaciteTotale;
+                double ideal = Math.max(0, (cible - compact.charge[g]) / c);
+                quota[g] = (int) ideal;
+                distribues += quota[g];
+                // complément du reste en poids fort, indice en poids faible: le tri donne les plus grands restes d'abord
+                restes[g] = ((long) ((1 - (ideal - quota[g])) * Integer.MAX_VALUE) << 32) | g;
+            }
+            if (distribues < nombre) {
+                Arrays.sort(restes);
+                for (int i = 0; distribues < nombre; i = (i + 1) % nbGenerateurs, distribues++) {
+                    quota[(int) restes[i]]++;
+                }
+            }
+
+            int g = 0;
+            for (int h : paquet) {
+                while (quota[g] == 0) g++;
+                compact.affectation[h] = g;
+                compact.charge[g] += c;
+                quota[g]--;
+            }
+        }
+    }
+
+    // maisons regroupées par consommation, de la plus forte à la plus faible (ordre des indices conservé)
+    private static int[][] paquetsParConsommation(int[] consommation) {
+        int[] valeurs = Arrays.stream(consommation).distinct().sorted().toArray();
+        int nbValeurs = valeurs.length;
+        int[] tailles = new int[nbValeurs];
+        int[] rang = new int[consommation.length];
+        for (int h = 0; h < consommation.length; h++) {
+            rang[h] = nbValeurs - 1 - Arrays.binarySearch(valeurs, consommation[h]);
+            tailles[rang[h]]++;
+        }
+        int[][] paquets = new int[nbValeurs][];
+        for (int r = 0; r < nbValeurs; r++) {
+            paquets[r] = new int[tailles[r]];
+        }
+        int[] remplis = new int[nbValeurs];
+        for (int h = 0; h < consommation.length; h++) {
+            paquets[rang[h]][remplis[rang[h]]++] = h;
+        }
+        return paquets;
+    }
+}
@@ -0,0 +1,104 @@
+package Algo;
+import java.util.SplittableRandom;
+
+/**
+ * État propre à une exécution de stratégie: générateur aléatoire, affichage,
+ * critère d'arrêt, écouteur de progression et (en parallèle) meilleure solution
+ * partagée entre les recherches.
+ */
+public class ContexteRecherche {
+    private final SplittableRandom random;
+    private final boolean verbeux;
+    private final MeilleureSolution partage;
+    private final CritereArret critere;
+    private final EcouteurRecherche ecouteur; // null = pas de suivi
+
+    public ContexteRecherche(SplittableRandom random, boolean verbeux) {
+        this(random, verbeux, CritereArret.aucun());
+    }
+
+    public ContexteRecherche(SplittableRandom random, boolean verbeux, CritereArret critere) {
+        this(random, verbeux, critere, null);
+    }
+
+    public ContexteRecherche(SplittableRandom random, boolean verbeux, CritereArret critere, EcouteurRecherche ecouteur) {
+        this(random, verbeux, null, critere, ecouteur);
+    }
+
+    ContexteRecherche(SplittableRandom random, boolean verbeux, MeilleureSolution partage, CritereArret critere,
+                      EcouteurRecherche ecouteur) {
+        if (random == null) {
+            throw new IllegalArgumentException("Le générateur aléatoire ne peut pas être null.");
+        }
+        if (critere == null) {
+            throw new IllegalArgumentException("Le critère d'arrêt ne peut pas être null.");
+        }
+        this.random = random;
+        this.verbeux = verbeux;
+        this.partage = partage;
+        this.critere = critere;
+        this.ecouteur = ecouteur;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    public boolean isVerbeux() {
+        return verbeux;
+    }
+
+    public CritereArret getCritere() {
+        return critere;
+    }
+
+    /**
+     * À interroger régulièrement par les stratégies: la recherche doit alors rendre
+     * sa meilleure configuration au plus vite.
+     */
+    public boolean doitArreter(double meilleurCout) {
+        return critere.estAtteint(meilleurCout);
+    }
+
+    /**
+     * À appeler par les stratégies à chaque nouveau meilleur coût.
+     */
+    void signalerMeilleur(double cout) {
+        if (ecouteur != null) {
+            ecouteur.nouveauMeilleur(cout);
+        }
+    }
+
+    /**
+     * À appeler par les stratégies de temps en temps (fin de passe, de palier...) avec le
+     * nombre de mouvements évalués depuis le signalement précédent.
+     */
+    void signalerEvaluations(long nombre) {
+        if (ecouteur != null && nombre > 0) {
+            ecouteur.evaluations(nombre);
+        }
+    }
+
+    void signalerAcceptes(long nombre) {
+        if (ecouteur != null && nombre > 0) {
+            ecouteur.mouvementsAcceptes(nombre);
+        }
+    }
+
+    void signalerEtape(int passe, double coutCourant, int taillePerturbation) {
+        if (ecouteur != null) {
+            ecouteur.etape(passe, coutCourant, taillePerturbation);
+        }
+    }
+
+    MeilleureSolution getPartage() {
+        return partage;
+    }
+
+    /**
+     * Même contexte sans affichage (stratégie relancée en boucle).
+     */
+    ContexteRecherche silencieux() {
+        return verbeux ? new ContexteRecherche(random, false, partage, critere, ecouteur) : this;
+    }
+}
@@ -0,0 +1,67 @@
+package Algo;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Condition d'arrêt d'une recherche: échéance (temps réel), coût cible et annulation externe.
+ * Partagé sans verrou entre les recherches parallèles et le thread qui annule.
+ * L'échéance court à partir de la création du critère.
+ */
+public class CritereArret {
+    private static final double AUCUNE_CIBLE = Double.NEGATIVE_INFINITY;
+
+    private final boolean avecEcheance;
+    private final long echeanceNanos;
+    private final double coutCible;
+    private final AtomicBoolean annule = new AtomicBoolean();
+
+    /**
+     * Aucun budget ni cible: seule l'annulation arrête la recherche.
+     */
+    public static CritereArret aucun() {
+        return new CritereArret(null, AUCUNE_CIBLE);
+    }
+
+    public static CritereArret duree(Duration budget) throws IllegalArgumentException {
+        return new CritereArret(budget, AUCUNE_CIBLE);
+    }
+
+    /**
+     * @param budget     durée maximale (null = pas d'échéance)
+     * @param coutCible  arrêt dès que le meilleur coût est ≤ cible (-∞ = pas de cible)
+     */
+    public CritereArret(Duration budget, double coutCible) throws IllegalArgumentException {
+        if (budget != null && (budget.isNegative() || budget.isZero())) {
+            throw new IllegalArgumentException("Le budget de temps doit être positif.");
+        }
+        if (Double.isNaN(coutCible)) {
+            throw new IllegalArgumentException("Le coût cible doit être un nombre.");
+        }
+        this.avecEcheance = budget != null;
+        this.echeanceNanos = avecEcheance ? System.nanoTime() + budget.toNanos() : 0;
+        this.coutCible = coutCible;
+    }
+
+    public void annuler() {
+        annule.set(true);
+    }
+
+    public boolean estAnnule() {
+        return annule.get();
+    }
+
+    public boolean estLimite() {
+        return avecEcheance || coutCible != AUCUNE_CIBLE;
+    }
+
+    public boolean estEchu() {
+        return avecEcheance && System.nanoTime() - echeanceNanos >= 0;
+    }
+
+    /**
+     * @param meilleurCout  meilleur coût connu de la recherche qui interroge le critère
+     */
+    public boolean estAtteint(double meilleurCout) {
+        return annule.get() || meilleurCout <= coutCible || estEchu();
+    }
+}
@@ -0,0 +1,64 @@
+package Algo;
+
+/**
+ * Reçoit les nouveaux meilleurs coûts d'une recherche (suivi de progression).
+ * Appelé depuis le thread de la recherche, éventuellement par plusieurs recherches
+ * parallèles à la fois: l'implémentation doit être rapide et thread-safe.
+ */
+public interface EcouteurRecherche {
+
+    void nouveauMeilleur(double cout);
+
+    /**
+     * {@code nombre} mouvements de plus ont été évalués (signalé par paquets, pas à chaque mouvement).
+     */
+    default void evaluations(long nombre) {
+    }
+
+    /**
+     * {@code nombre} mouvements de plus ont été appliqués (améliorants ou acceptés par le recuit),
+     * signalés par paquets comme les évaluations.
+     */
+    default void mouvementsAcceptes(long nombre) {
+    }
+
+    /**
+     * Point d'étape (fin de passe, de palier, de tour...): numéro de l'étape, coût courant et
+     * nombre de maisons perturbées pour repartir (0 sans perturbation).
+     */
+    default void etape(int passe, double coutCourant, int taillePerturbation) {
+    }
+
+    /**
+     * Écouteur qui transmet tout à {@code premier} puis à {@code second} (l'un ou l'autre peut être null).
+     */
+    static EcouteurRecherche combiner(EcouteurRecherche premier, EcouteurRecherche second) {
+        if (premier == null) return second;
+        if (second == null) return premier;
+        return new EcouteurRecherche() {
+            @Override
+            public void nouveauMeilleur(double cout) {
+                premier.nouveauMeilleur(cout);
+                second.nouveauMeilleur(cout);
+            }
+
+            @Override
+            public void evaluations(long nombre) {
+                premier.evaluations(nombre);
+                second.evaluations(nombre);
+            }
+
+            @Override
+            public void mouvementsAcceptes(long nombre) {
+                premier.mouvementsAcceptes(nombre);
+                second.mouvementsAcceptes(nombre);
+            }
+
+            @Override
+            public void etape(int passe, double coutCourant, int taillePerturbation) {
+                premier.etape(passe, coutCourant, taillePerturbation);
+                second.etape(passe, coutCourant, taillePerturbation);
+            }
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package Algo;
+import java.util.SplittableRandom;
+
+/**
+ * Évaluation incrémentale du coût pour les algorithmes d'optimisation.
+ * Garde en cache la charge et le taux de chaque générateur ainsi que les
+ * sommes courantes Σ u_g et Σ max(0, u_g - 1), ce qui permet d'obtenir la
+ * variation de coût d'un déplacement sans parcourir les maisons connectées.
+ *
+ * Travaille directement sur les tableaux d'un {@link ReseauCompact}: les déplacements
+ * doivent passer par {@link #deplacer(int, int)} pour garder le cache cohérent.
+ *
+ * La dispersion dépend de la moyenne, que tout mouvement modifie: à partir de
+ * SEUIL_INDEX générateurs, elle est évaluée en O(log G) par un {@link IndexTaux}
+ * (taux triés avec sommes préfixes) au lieu d'un parcours en O(G).
+ */
+class EvaluateurDelta {
+    static final int SEUIL_INDEX = 64;
+
+    private final ReseauCompact reseau;
+    private final int[] capacite;
+    private final long[] charge;
+    private final double[] taux;
+    private final int penalite;
+    private double sommeTaux;
+    private double surcharge;
+    private double dispersion;        // Disp(S) courante, recalculée à la demande
+    private boolean dispersionAJour;
+    private final IndexTaux index;    // null sous SEUIL_INDEX générateurs
+    private long evaluations;         // deltas calculés depuis le dernier prendreEvaluations()
+
+    EvaluateurDelta(ReseauCompact reseau) {
+        this(reseau, reseau.capacite, reseau.charge, reseau.penalite);
+    }
+
+    /**
+     * Évaluateur sur des charges seules, sans maisons (solveur agrégé par type):
+     * seuls deltaVariations, transferer, cout et resynchroniser sont utilisables.
+     */
+    EvaluateurDelta(int[] capacite, long[] charge, int penalite) {
+        this(null, capacite, charge, penalite);
+    }
+
+    private EvaluateurDelta(ReseauCompact reseau, int[] capacite, long[] charge, int penalite) {
+        this.reseau = reseau;
+        this.capacite = capacite;
+        this.charge = charge;
+        this.taux = new double[capacite.length];
+        this.penalite = penalite;
+        resynchroniser();
+        this.index = (taux.length >= SEUIL_INDEX) ? new IndexTaux(taux) : null;
+    }
+
+    ReseauCompact getReseau() {
+        return reseau;
+    }
+
+    /**
+     * Recalcule les taux et les sommes courantes à partir des charges du réseau compact,
+     * pour éliminer la dérive d'arrondi ou après un {@link ReseauCompact#chargerAffectation(int[])}.
+     */
+    void resynchroniser() {
+        sommeTaux = 0;
+        surcharge = 0;
+        for (int g = 0; g < taux.length; g++) {
+            taux[g] = (double) charge[g] / capacite[g];
+            sommeTaux += taux[g];
+            surcharge += Math.max(0, taux[g] - 1);
+        }
+        if (index != null) {
+            index.reconstruire(taux);
+        }
+        dispersionAJour = false;
+    }
+
+    /**
+     * Coût courant: Disp(S) + λ × Surcharge(S), en O(G).
+     */
+    double cout() {
+        if (taux.length == 0) return 0;
+        return dispersionCourante() + penalite * surcharge;
+    }
+
+    private double dispersionCourante() {
+        if (!dispersionAJour && index != null) {
+            dispersion = index.dispersion();
+            dispersionAJour = true;
+        } else if (!dispersionAJour) {
+            double moyenne = sommeTaux / taux.length;
+            dispersion = 0;
+            for (double u : taux) {
+                dispersion += Math.abs(u - moyenne);
+            }
+            dispersionAJour = true;
+        }
+        return dispersion;
+    }
+
+    /**
+     * Variation du coût si une maison de consommation {@code conso} passe du
+     * générateur {@code a} au générateur {@code b} (a = -1 si elle n'est pas connectée).
+     */
+    double delta(int conso, int a, int b) {
+        if (a == b) return 0;
+        return deltaVariations(a, -conso, b, conso, -1, 0);
+    }
+
+    /**
+     * Variation du coût si les charges de (au plus) trois générateurs distincts changent
+     * simultanément de va, vb et vc (indice -1 = absent).
+     * La surcharge est mise à jour en O(1), la dispersion en O(log G) avec l'index
+     * (en O(G) sinon, car la moyenne change).
+     */
+    double deltaVariations(int a, long va, int b, long vb, int c, long vc) {
+        evaluations++;
+        int nbGen = taux.length;
+        double uaApres = (a >= 0) ? (double) (charge[a] + va) / capacite[a] : 0;
+        double ubApres = (b >= 0) ? (double) (charge[b] + vb) / capacite[b] : 0;
+        double ucApres = (c >= 0) ? (double) (charge[c] + vc) / capacite[c] : 0;
+
+        double sommeApres = sommeTaux;
+        double surchargeDelta = 0;
+        if (a >= 0) {
+            sommeApres += uaApres - taux[a];
+            surchargeDelta += Math.max(0, uaApres - 1) - Math.max(0, taux[a] - 1);
+        }
+        if (b >= 0) {
+            sommeApres += ubApres - taux[b];
+            surchargeDelta += Math.max(0, ubApres - 1) - Math.max(0, taux[b] - 1);
+        }
+        if (c >= 0) {
+            sommeApres += ucApres - taux[c];
+            surchargeDelta += Math.max(0, ucApres - 1) - Math.max(0, taux[c] - 1);
+        }
+
+        if (index != null) {
+            double dispApres = index.dispersionApres(a, uaApres, b, ubApres, c, ucApres);
+            return (dispApres - dispersionCourante()) + penalite * surchargeDelta;
+        }
+
+        double moyenneApres = sommeApres / nbGen;
+        double dispApres = 0;
+        for (int g = 0; g < nbGen; g++) {
+            if (g != a && g != b && g != c) {
+                dispApres += Math.abs(taux[g] - moyenneApres);
+            }
+        }
+        if (a >= 0) dispApres += Math.abs(uaApres - moyenneApres);
+        if (b >= 0) dispApres += Math.abs(ubApres - moyenneApres);
+        if (c >= 0) dispApres += Math.abs(ucApres - moyenneApres);
+
+        return (dispApres - dispersionCourante()) + penalite * surchargeDelta;
+    }
+
+    /**
+     * Nombre de mouvements évalués depuis l'appel précédent (remis à zéro), à transmettre
+     * au contexte par {@link ContexteRecherche#signalerEvaluations(long)}.
+     */
+    long prendreEvaluations() {
+        long n = evaluations;
+        evaluations = 0;
+        return n;
+    }
+
+    /**
+     * Variation du coût si la maison h rejoint le générateur b.
+     */
+    double delta(int h, int b) {
+        return delta(reseau.consommation[h], reseau.affectation[h], b);
+    }
+
+    /**
+     * Variation du coût si les maisons h1 et h2 (connectées à deux générateurs différents)
+     * échangent leurs générateurs: seule la différence de consommation est transférée.
+     */
+    double deltaEchange(int h1, int h2) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        long transfert = reseau.consommation[h1] - reseau.consommation[h2]; // de a vers b
+        return deltaVariations(a, -transfert, b, transfert, -1, 0);
+    }
+
+    /**
+     * Variation du coût de la chaîne h1 → générateur de h2, h2 → générateur de h3,
+     * h3 → générateur de h1 (trois générateurs distincts).
+     */
+    double deltaChaine(int h1, int h2, int h3) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        int c = reseau.affectation[h3];
+        int c1 = reseau.consommation[h1];
+        int c2 = reseau.consommation[h2];
+        int c3 = reseau.consommation[h3];
+        return deltaVariations(a, c3 - c1, b, c1 - c2, c, c2 - c3);
+    }
+
+    /**
+     * Déplace la maison h vers le générateur b dans le réseau compact et met le cache à jour.
+     */
+    void deplacer(int h, int b) {
+        int a = reseau.affectation[h];
+        if (a == b) return;
+        reseau.deplacer(h, b);
+        if (a >= 0) mettreAJour(a);
+        if (b >= 0) mettreAJour(b);
+    }
+
+    void echanger(int h1, int h2) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        deplacer(h1, b);
+        deplacer(h2, a);
+    }
+
+    void chainer(int h1, int h2, int h3) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        int c = reseau.affectation[h3];
+        deplacer(h1, b);
+        deplacer(h2, c);
+        deplacer(h3, a);
+    }
+
+    /**
+     * Transfère {@code quantite} kW de charge du générateur a vers b (a = -1: charge ajoutée sur b).
+     */
+    void transferer(int a, int b, long quantite) {
+        if (a >= 0) {
+            charge[a] -= quantite;
+            mettreAJour(a);
+        }
+        charge[b] += quantite;
+        mettreAJour(b);
+    }
+
+    /**
+     * Déplace aléatoirement une fraction des maisons (certaines peuvent l'être plusieurs fois).
+     * @return nombre de déplacements tirés
+     */
+    int perturber(double fraction, SplittableRandom random) {
+        int nbMaisons = reseau.getNbMaisons();
+        int nbGenerateurs = reseau.getNbGenerateurs();
+        int nbPerturbations = Math.max(1, (int) Math.round(nbMaisons * fraction));
+        for (int p = 0; p < nbPerturbations; p++) {
+            deplacer(random.nextInt(nbMaisons), random.nextInt(nbGenerateurs));
+        }
+        return nbPerturbations;
+    }
+
+    private void mettreAJour(int g) {
+        double ancien = taux[g];
+        taux[g] = (double) charge[g] / capacite[g];
+        sommeTaux += taux[g] - ancien;
+        surcharge += Math.max(0, taux[g] - 1) - Math.max(0, ancien - 1);
+        if (index != null) {
+            index.modifier(g, taux[g]);
+        }
+        dispersionAJour = false;
+    }
+}
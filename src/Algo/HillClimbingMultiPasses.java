@@ -0,0 +1,198 @@
+package Algo;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Hill Climbing multi-passes avec perturbations adaptatives (algorithme historique
+ * de Optimiseur.optimiserReseau, voir Algo.md):
+ * 1. Hill Climbing exhaustif par passe (tests exhaustifs)
+ * 2. Perturbations AGRESSIVES entre passes (33% des maisons)
+ * 3. Multi-passes pour explorer plusieurs bassins
+ * 4. Détection de stagnation: augmente perturbation si pas d'amélioration
+ *
+ * Avec les voisinages ECHANGE et CHAINE, chaque tour de la passe est complété par
+ * des mouvements composés tirés au hasard (premier qui améliore): ils franchissent
+ * les optima locaux où aucun déplacement isolé ne fait baisser le coût.
+ */
+public class HillClimbingMultiPasses implements OptimisationStrategy {
+
+    // Paramètre de perturbation: plus agressif pour mieux explorer l'espace
+    static final double PERTURBATION_FRACTION = 0.33; // 33% des maisons
+    // Seuil d'amélioration: évite de boucler sur des écarts d'arrondi
+    static final double EPSILON = 1e-12;
+    // Maisons examinées entre deux consultations du critère d'arrêt
+    static final int INTERVALLE_ARRET = 1024;
+
+    private final int k;
+    private final Set<Voisinage> voisinages;
+
+    public HillClimbingMultiPasses(int k) throws IllegalArgumentException {
+        this(k, EnumSet.of(Voisinage.DEPLACEMENT));
+    }
+
+    public HillClimbingMultiPasses(int k, Set<Voisinage> voisinages) throws IllegalArgumentException {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Le nombre de tentatives doit être positif.");
+        }
+        if (voisinages == null || voisinages.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un voisinage doit être choisi.");
+        }
+        this.k = k;
+        this.voisinages = EnumSet.copyOf(voisinages);
+    }
+
+    @Override
+    public String getNom() {
+        return "Hill Climbing multi-passes (k=" + k + ", " + nombrePasses(k) + " passes, voisinages " + voisinages + ")";
+    }
+
+    // Nombre de passes : plus agressif avec gros k
+    static int nombrePasses(int k) {
+        return Math.max(5, Math.min(15, k / 30)); // Min 5 passes, Max 15
+    }
+
+    /**
+     * Si le contexte porte une solution partagée (recherche parallèle), chaque fin de passe
+     * y publie son résultat et, en cas de stagnation, la recherche repart du meilleur global.
+     * Le critère d'arrêt est consulté toutes les INTERVALLE_ARRET maisons: la passe en cours
+     * est alors évaluée puis la meilleure configuration est rendue.
+     */
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        int nbMaisons = compact.getNbMaisons();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        MeilleureSolution partage = contexte.getPartage();
+        EvaluateurDelta evaluateur = new EvaluateurDelta(compact);
+        double coutInitial = evaluateur.cout();
+        double meilleurCoutGlobal = coutInitial;
+        int[] meilleurConfig = compact.copierAffectation();
+
+        int nbPasses = nombrePasses(k);
+        boolean deplacements = voisinages.contains(Voisinage.DEPLACEMENT);
+        Mouvement mouvement = new Mouvement();
+        int ameliorationsTotal = 0;
+        int ameliorationsSignalees = 0;
+        int taillePerturbation = 0;
+        double coutPrecedent = coutInitial;
+        boolean arret = contexte.doitArreter(meilleurCoutGlobal);
+
+        for (int passe = 0; passe < nbPasses && !arret; passe++) {
+            // Hill Climbing exhaustif jusqu'à convergence
+            boolean ameliore = true;
+            int iterationsPass = 0;
+
+            while (ameliore && iterationsPass < k / nbPasses && !arret) {
+                ameliore = false;
+
+                for (int h = 0; h < nbMaisons && deplacements; h++) {
+                    if (h % INTERVALLE_ARRET == 0) {
+                        // suivi en cours de passe: une passe peut durer plusieurs secondes
+                        contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+                        contexte.signalerAcceptes(ameliorationsTotal - ameliorationsSignalees);
+                        ameliorationsSignalees = ameliorationsTotal;
+                        if (contexte.doitArreter(meilleurCoutGlobal)) {
+                            arret = true;
+                            break;
+                        }
+                    }
+                    int ancienGen = compact.getAffectation(h);
+                    int meilleurGen = ancienGen;
+                    double meilleurDelta = -EPSILON;
+
+                    // Tester tous les générateurs (évaluation incrémentale sur le réseau compact)
+                    for (int g = 0; g < nbGenerateurs; g++) {
+                        if (g == ancienGen) continue;
+                        double delta = evaluateur.delta(h, g);
+                        if (delta < meilleurDelta) {
+                            meilleurDelta = delta;
+                            meilleurGen = g;
+                        }
+                    }
+
+                    // Appliquer le meilleur changement
+                    if (meilleurGen != ancienGen) {
+                        evaluateur.deplacer(h, meilleurGen);
+                        ameliorationsTotal++;
+                        ameliore = true;
+                    }
+                }
+
+                // Mouvements composés (échange, chaîne) échantillonnés
+                int composes = arret ? 0 : ameliorerComposes(evaluateur, mouvement, contexte.getRandom());
+                if (composes > 0) {
+                    ameliorationsTotal += composes;
+                    ameliore = true;
+                }
+                iterationsPass++;
+            }
+
+            evaluateur.resynchroniser();
+            double coutActuel = evaluateur.cout();
+            contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+            contexte.signalerAcceptes(ameliorationsTotal - ameliorationsSignalees);
+            ameliorationsSignalees = ameliorationsTotal;
+
+            // Sauvegarder si meilleur
+            if (coutActuel < meilleurCoutGlobal) {
+                meilleurCoutGlobal = coutActuel;
+                meilleurConfig = compact.copierAffectation();
+                contexte.signalerMeilleur(coutActuel);
+                if (contexte.isVerbeux()) {
+                    System.out.println("  Passe " + (passe + 1) + ": nouveau meilleur → " + String.format("%.3f", coutActuel));
+                }
+            }
+            contexte.signalerEtape(passe + 1, coutActuel, taillePerturbation);
+            if (partage != null) {
+                partage.proposer(coutActuel, compact);
+            }
+
+            arret = arret || contexte.doitArreter(meilleurCoutGlobal);
+
+            // Perturbation ADAPTATIVE pour la prochaine passe
+            if (passe < nbPasses - 1 && !arret) {
+                // Si stagnation (pas d'amélioration), perturbation PLUS agressif
+                double fractionPerturbation = PERTURBATION_FRACTION;
+                if (Math.abs(coutActuel - coutPrecedent) < 0.001) {
+                    // Stagnation détectée: augmenter perturbation à 50%
+                    fractionPerturbation = 0.50;
+                    // En parallèle: repartir du meilleur bassin trouvé par l'ensemble des recherches
+                    if (partage != null && partage.getCout() < coutActuel - EPSILON) {
+                        compact.chargerAffectation(partage.get().affectation);
+                        evaluateur.resynchroniser();
+                    }
+                }
+
+                taillePerturbation = evaluateur.perturber(fractionPerturbation, contexte.getRandom());
+            }
+
+            coutPrecedent = coutActuel;
+        }
+
+        if (contexte.isVerbeux()) {
+            System.out.println("Optimisation terminée: " + ameliorationsTotal + " améliorations.");
+        }
+        compact.chargerAffectation(meilleurConfig);
+        return meilleurCoutGlobal;
+    }
+
+    /**
+     * Tire nbMaisons mouvements de chaque voisinage composé activé et applique
+     * ceux qui améliorent le coût.
+     * @return nombre de mouvements appliqués
+     */
+    private int ameliorerComposes(EvaluateurDelta evaluateur, Mouvement mouvement, SplittableRandom random) {
+        int nbMaisons = evaluateur.getReseau().getNbMaisons();
+        int ameliorations = 0;
+        for (Voisinage voisinage : voisinages) {
+            if (voisinage == Voisinage.DEPLACEMENT) continue;
+            for (int essai = 0; essai < nbMaisons; essai++) {
+                if (mouvement.tirer(voisinage, evaluateur, random) && mouvement.delta < -EPSILON) {
+                    mouvement.appliquer(evaluateur);
+                    ameliorations++;
+                }
+            }
+        }
+        return ameliorations;
+    }
+}
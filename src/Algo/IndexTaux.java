@@ -0,0 +1,216 @@
+package Algo;
+import java.util.SplittableRandom;
+
+/**
+ * Index ordonné des taux d'utilisation des générateurs (treap en tableaux primitifs,
+ * un nœud par générateur, clé (taux, indice)). Chaque nœud garde la taille et la somme
+ * des taux de son sous-arbre: le nombre et la somme des taux ≤ x s'obtiennent en O(log G).
+ *
+ * Avec C(x) et P(x) ces deux valeurs, S la somme totale et ū = S / G:
+ *   Disp = Σ |u_g - ū| = (S - 2 P(ū)) - ū (G - 2 C(ū))
+ * ce qui donne la dispersion après un mouvement (nouvelle moyenne comprise) en O(log G),
+ * au lieu de reparcourir tous les générateurs.
+ */
+class IndexTaux {
+    private static final int VIDE = -1;
+
+    private final double[] cle;
+    private final int[] priorite;
+    private final int[] gauche;
+    private final int[] droite;
+    private final int[] taille;
+    private final double[] somme;
+    private int racine = VIDE;
+
+    // résultat de cumuler(x), relu aussitôt par l'appelant (pas d'allocation par requête)
+    private int nbInferieurs;
+    private double sommeInferieurs;
+
+    IndexTaux(double[] taux) {
+        int nbGenerateurs = taux.length;
+        this.cle = new double[nbGenerateurs];
+        this.priorite = new int[nbGenerateurs];
+        this.gauche = new int[nbGenerateurs];
+        this.droite = new int[nbGenerateurs];
+        this.taille = new int[nbGenerateurs];
+        this.somme = new double[nbGenerateurs];
+        SplittableRandom random = new SplittableRandom(nbGenerateurs); // forme de l'arbre reproductible
+        for (int g = 0; g < nbGenerateurs; g++) {
+            priorite[g] = random.nextInt();
+        }
+        reconstruire(taux);
+    }
+
+    /**
+     * Recharge tous les taux (après une resynchronisation de l'évaluateur).
+     */
+    void reconstruire(double[] taux) {
+        racine = VIDE;
+        for (int g = 0; g < taux.length; g++) {
+            cle[g] = taux[g];
+            gauche[g] = VIDE;
+            droite[g] = VIDE;
+            racine = inserer(racine, g);
+        }
+    }
+
+    void modifier(int g, double taux) {
+        if (cle[g] == taux) return;
+        racine = retirer(racine, g);
+        cle[g] = taux;
+        gauche[g] = VIDE;
+        droite[g] = VIDE;
+        racine = inserer(racine, g);
+    }
+
+    double somme() {
+        return (racine == VIDE) ? 0 : somme[racine];
+    }
+
+    /**
+     * Dispersion Σ |u_g - ū| de l'état courant.
+     */
+    double dispersion() {
+        int nbGenerateurs = cle.length;
+        if (nbGenerateurs == 0) return 0;
+        double total = somme();
+        double moyenne = total / nbGenerateurs;
+        cumuler(moyenne);
+        return (total - 2 * sommeInferieurs) - moyenne * (nbGenerateurs - 2 * nbInferieurs);
+    }
+
+    /**
+     * Dispersion si les taux de (au plus) trois générateurs distincts passent à ua, ub et uc
+     * (indice -1 = absent), sans modifier l'index.
+     */
+    double dispersionApres(int a, double ua, int b, double ub, int c, double uc) {
+        int nbGenerateurs = cle.length;
+        double total = somme();
+        if (a >= 0) total += ua - cle[a];
+        if (b >= 0) total += ub - cle[b];
+        if (c >= 0) total += uc - cle[c];
+        double moyenne = total / nbGenerateurs;
+
+        cumuler(moyenne);
+        if (a >= 0) corriger(cle[a], ua, moyenne);
+        if (b >= 0) corriger(cle[b], ub, moyenne);
+        if (c >= 0) corriger(cle[c], uc, moyenne);
+        return (total - 2 * sommeInferieurs) - moyenne * (nbGenerateurs - 2 * nbInferieurs);
+    }
+
+    // remplace la valeur avant par la valeur après dans le cumul des taux ≤ moyenne
+    private void corriger(double avant, double apres, double moyenne) {
+        if (avant <= moyenne) {
+            nbInferieurs--;
+            sommeInferieurs -= avant;
+        }
+        if (apres <= moyenne) {
+            nbInferieurs++;
+            sommeInferieurs += apres;
+        }
+    }
+
+    // nombre et somme des taux ≤ x, en une descente depuis la racine
+    private void cumuler(double x) {
+        int n = racine;
+        int nb = 0;
+        double s = 0;
+        while (n != VIDE) {
+            if (cle[n] <= x) {
+                int l = gauche[n];
+                if (l != VIDE) {
+                    nb += taille[l];
+                    s += somme[l];
+                }
+                nb++;
+                s += cle[n];
+                n = droite[n];
+            } else {
+                n = gauche[n];
+            }
+        }
+        nbInferieurs = nb;
+        sommeInferieurs = s;
+    }
+
+    private boolean avant(int g1, int g2) {
+        return cle[g1] < cle[g2] || (cle[g1] == cle[g2] && g1 < g2);
+    }
+
+    private int inserer(int n, int g) {
+        if (n == VIDE) {
+            taille[g] = 1;
+            somme[g] = cle[g];
+            return g;
+        }
+        if (avant(g, n)) {
+            gauche[n] = inserer(gauche[n], g);
+            if (priorite[gauche[n]] > priorite[n]) n = rotationDroite(n);
+        } else {
+            droite[n] = inserer(droite[n], g);
+            if (priorite[droite[n]] > priorite[n]) n = rotationGauche(n);
+        }
+        mettreAJour(n);
+        return n;
+    }
+
+    private int retirer(int n, int g) {
+        if (n == g) {
+            return fusionner(gauche[g], droite[g]);
+        }
+        if (avant(g, n)) {
+            gauche[n] = retirer(gauche[n], g);
+        } else {
+            droite[n] = retirer(droite[n], g);
+        }
+        mettreAJour(n);
+        return n;
+    }
+
+    // fusion de deux sous-arbres dont toutes les clés de l sont avant celles de r
+    private int fusionner(int l, int r) {
+        if (l == VIDE) return r;
+        if (r == VIDE) return l;
+        if (priorite[l] > priorite[r]) {
+            droite[l] = fusionner(droite[l], r);
+            mettreAJour(l);
+            return l;
+        }
+        gauche[r] = fusionner(l, gauche[r]);
+        mettreAJour(r);
+        return r;
+    }
+
+    private int rotationDroite(int n) {
+        int l = gauche[n];
+        gauche[n] = droite[l];
+        droite[l] = n;
+        mettreAJour(n);
+        return l;
+    }
+
+    private int rotationGauche(int n) {
+        int r = droite[n];
+        droite[n] = gauche[r];
+        gauche[r] = n;
+        mettreAJour(n);
+        return r;
+    }
+
+    private void mettreAJour(int n) {
+        int l = gauche[n];
+        int r = droite[n];
+        int t = 1;
+        double s = cle[n];
+        if (l != VIDE) {
+            t += taille[l];
+            s += somme[l];
+        }
+        if (r != VIDE) {
+            t += taille[r];
+            s += somme[r];
+        }
+        taille[n] = t;
+        somme[n] = s;
+    }
+}
@@ -0,0 +1,10 @@
+package Algo;
+
+/**
+ * Affectations de départ construites par {@link Construction}, à la place des connexions
+ * lues dans le fichier (souvent très surchargées).
+ */
+public enum Initialisation {
+    GLOUTONNE,       // plus grosses consommations d'abord, chacune sur le générateur le moins utilisé après ajout
+    PROPORTIONNELLE  // chaque consommation répartie entre les générateurs au prorata de leur capacité
+}
@@ -0,0 +1,51 @@
+package Algo;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Meilleure solution connue, partagée sans verrou entre les recherches parallèles.
+ * Une proposition n'est publiée (par compare-and-set) que si elle améliore
+ * strictement le coût courant; la copie de l'affectation n'est faite qu'à ce moment.
+ */
+class MeilleureSolution {
+    private final AtomicReference<Solution> meilleure;
+
+    MeilleureSolution(Solution initiale) {
+        this.meilleure = new AtomicReference<>(initiale);
+    }
+
+    Solution get() {
+        return meilleure.get();
+    }
+
+    double getCout() {
+        return meilleure.get().cout;
+    }
+
+    /**
+     * @return true si la configuration du réseau compact devient la meilleure connue
+     */
+    boolean proposer(double cout, ReseauCompact compact) {
+        Solution actuelle = meilleure.get();
+        if (cout >= actuelle.cout) return false;
+        Solution candidate = new Solution(cout, compact.copierAffectation());
+        while (cout < actuelle.cout) {
+            if (meilleure.compareAndSet(actuelle, candidate)) return true;
+            actuelle = meilleure.get();
+        }
+        return false;
+    }
+
+    /**
+     * Variante sur un tableau d'affectation quelconque (recopié seulement s'il est publié).
+     */
+    boolean proposer(double cout, int[] affectation) {
+        Solution actuelle = meilleure.get();
+        if (cout >= actuelle.cout) return false;
+        Solution candidate = new Solution(cout, affectation.clone());
+        while (cout < actuelle.cout) {
+            if (meilleure.compareAndSet(actuelle, candidate)) return true;
+            actuelle = meilleure.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package Algo;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métriques d'une optimisation en cours, exposées par JMX (JConsole, VisualVM, exportateurs).
+ * Les stratégies écrivent par paquets, sans verrou (LongAdder, champs volatils), comme pour
+ * {@link Progression}; les lectures JMX se font dans un autre thread, au rythme de l'outil.
+ *
+ * Une seule instance est enregistrée à la fois: chaque exécution de Optimiseur ou
+ * OptimiseurParallele remplace la précédente, qui reste lisible jusque-là. En parallèle,
+ * le coût courant, la passe et la taille de perturbation sont ceux du dernier départ qui
+ * les a signalés.
+ */
+public class MetriquesOptimiseur extends Progression implements MetriquesOptimiseurMBean {
+    public static final String NOM_JMX = "Algo:type=MetriquesOptimiseur";
+
+    private final String strategie;
+    private final LongAdder acceptes = new LongAdder();
+    private volatile double coutCourant = Double.NaN;
+    private volatile int passe;
+    private volatile int taillePerturbation;
+
+    public MetriquesOptimiseur(String strategie) {
+        this.strategie = strategie;
+    }
+
+    /**
+     * Crée les métriques d'une nouvelle exécution et les enregistre sur le serveur MBean de la
+     * plateforme à la place des précédentes. Si JMX est indisponible, les métriques restent
+     * utilisables comme simple écouteur.
+     */
+    public static synchronized MetriquesOptimiseur enregistrer(String strategie) {
+        MetriquesOptimiseur metriques = new MetriquesOptimiseur(strategie);
+        try {
+            MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nom = new ObjectName(NOM_JMX);
+            if (serveur.isRegistered(nom)) {
+                serveur.unregisterMBean(nom);
+            }
+            serveur.registerMBean(metriques, nom);
+        } catch (JMException | SecurityException e) {
+            System.out.println("Métriques JMX indisponibles: " + e.getMessage());
+        }
+        return metriques;
+    }
+
+    @Override
+    public void nouveauMeilleur(double cout) {
+        super.nouveauMeilleur(cout);
+        coutCourant = cout;
+    }
+
+    @Override
+    public void mouvementsAcceptes(long nombre) {
+        acceptes.add(nombre);
+    }
+
+    @Override
+    public void etape(int passe, double coutCourant, int taillePerturbation) {
+        this.passe = passe;
+        this.coutCourant = coutCourant;
+        this.taillePerturbation = taillePerturbation;
+        retenirMinimum(coutCourant);
+    }
+
+    @Override
+    public String getStrategie() {
+        return strategie;
+    }
+
+    @Override
+    public long getNbMouvementsAcceptes() {
+        return acceptes.sum();
+    }
+
+    @Override
+    public double getEvaluationsParSeconde() {
+        double secondes = getSecondesEcoulees();
+        return (secondes > 0) ? getNbEvaluations() / secondes : 0;
+    }
+
+    @Override
+    public double getCoutCourant() {
+        return coutCourant;
+    }
+
+    @Override
+    public int getPasse() {
+        return passe;
+    }
+
+    @Override
+    public int getTaillePerturbation() {
+        return taillePerturbation;
+    }
+}
@@ -0,0 +1,31 @@
+package Algo;
+
+/**
+ * Attributs JMX de {@link MetriquesOptimiseur} (visibles dans JConsole sous Algo:type=MetriquesOptimiseur).
+ */
+public interface MetriquesOptimiseurMBean {
+
+    String getStrategie();
+
+    long getNbEvaluations();
+
+    long getNbMouvementsAcceptes();
+
+    long getNbAmeliorations();
+
+    /**
+     * Débit moyen depuis le début de l'exécution, identique pour tous les lecteurs. Pour un débit
+     * instantané, l'outil de lecture fait la différence de NbEvaluations entre deux relevés.
+     */
+    double getEvaluationsParSeconde();
+
+    double getCoutCourant();
+
+    double getMeilleurCout();
+
+    int getPasse();
+
+    int getTaillePerturbation();
+
+    double getSecondesEcoulees();
+}
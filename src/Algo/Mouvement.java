@@ -0,0 +1,113 @@
+package Algo;
+import java.util.SplittableRandom;
+
+/**
+ * Mouvement candidat d'un voisinage (objet réutilisable: aucune allocation dans la boucle).
+ * DEPLACEMENT utilise h1 et cible, ECHANGE h1 et h2, CHAINE h1, h2 et h3.
+ */
+class Mouvement {
+    private static final int ESSAIS_TIRAGE = 8;
+
+    Voisinage type;
+    int h1;
+    int h2;
+    int h3;
+    int cible;
+    double delta;
+
+    void copier(Mouvement autre) {
+        type = autre.type;
+        h1 = autre.h1;
+        h2 = autre.h2;
+        h3 = autre.h3;
+        cible = autre.cible;
+        delta = autre.delta;
+    }
+
+    /**
+     * Tire un mouvement aléatoire du type donné et calcule son delta.
+     * @return false si aucun mouvement valide n'a été trouvé en quelques essais
+     */
+    boolean tirer(Voisinage voisinage, EvaluateurDelta evaluateur, SplittableRandom random) {
+        ReseauCompact reseau = evaluateur.getReseau();
+        int nbMaisons = reseau.getNbMaisons();
+        int nbGenerateurs = reseau.getNbGenerateurs();
+        type = voisinage;
+        for (int essai = 0; essai < ESSAIS_TIRAGE; essai++) {
+            switch (voisinage) {
+                case DEPLACEMENT: {
+                    h1 = random.nextInt(nbMaisons);
+                    cible = random.nextInt(nbGenerateurs);
+                    if (cible == reseau.affectation[h1]) continue;
+                    delta = evaluateur.delta(h1, cible);
+                    return true;
+                }
+                case ECHANGE: {
+                    h1 = random.nextInt(nbMaisons);
+                    h2 = random.nextInt(nbMaisons);
+                    if (!echangeValide(reseau, h1, h2)) continue;
+                    delta = evaluateur.deltaEchange(h1, h2);
+                    return true;
+                }
+                case CHAINE: {
+                    h1 = random.nextInt(nbMaisons);
+                    h2 = random.nextInt(nbMaisons);
+                    h3 = random.nextInt(nbMaisons);
+                    if (!chaineValide(reseau, h1, h2, h3)) continue;
+                    delta = evaluateur.deltaChaine(h1, h2, h3);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deux maisons connectées à des générateurs différents et de consommations différentes
+     * (échanger deux maisons du même type ne change aucune charge).
+     */
+    static boolean echangeValide(ReseauCompact reseau, int h1, int h2) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        return a >= 0 && b >= 0 && a != b && reseau.consommation[h1] != reseau.consommation[h2];
+    }
+
+    static boolean chaineValide(ReseauCompact reseau, int h1, int h2, int h3) {
+        int a = reseau.affectation[h1];
+        int b = reseau.affectation[h2];
+        int c = reseau.affectation[h3];
+        if (a < 0 || b < 0 || c < 0 || a == b || b == c || a == c) return false;
+        int[] conso = reseau.consommation;
+        return conso[h1] != conso[h2] || conso[h2] != conso[h3];
+    }
+
+    void appliquer(EvaluateurDelta evaluateur) {
+        switch (type) {
+            case DEPLACEMENT:
+                evaluateur.deplacer(h1, cible);
+                break;
+            case ECHANGE:
+                evaluateur.echanger(h1, h2);
+                break;
+            case CHAINE:
+                evaluateur.chainer(h1, h2, h3);
+                break;
+        }
+    }
+
+    /**
+     * Le mouvement est tabou si l'une des maisons retourne sur un générateur interdit.
+     */
+    boolean estTabou(TableTabou tabou, ReseauCompact reseau, int iteration) {
+        int[] aff = reseau.affectation;
+        switch (type) {
+            case DEPLACEMENT:
+                return tabou.estTabou(h1, cible, iteration);
+            case ECHANGE:
+                return tabou.estTabou(h1, aff[h2], iteration) || tabou.estTabou(h2, aff[h1], iteration);
+            default:
+                return tabou.estTabou(h1, aff[h2], iteration) || tabou.estTabou(h2, aff[h3], iteration)
+                        || tabou.estTabou(h3, aff[h1], iteration);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Algo;
+
+/**
+ * Algorithme d'optimisation interchangeable.
+ * Une stratégie ne garde que sa configuration (budget, paramètres): tout l'état de la
+ * recherche est local à {@link #optimiser}, ce qui permet de lancer la même instance
+ * sur plusieurs threads (voir OptimiseurParallele).
+ */
+public interface OptimisationStrategy {
+
+    String getNom();
+
+    /**
+     * Optimise le réseau compact en place.
+     * À la fin, {@code reseau} contient la meilleure configuration trouvée.
+     * La recherche doit consulter régulièrement {@link ContexteRecherche#doitArreter(double)}
+     * et s'arrêter au plus vite (avec sa meilleure configuration) quand il répond vrai.
+     * @return le coût de cette configuration
+     */
+    double optimiser(ReseauCompact reseau, ContexteRecherche contexte);
+}
@@ -1,156 +1,133 @@
 package Algo;
 import Modele.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Optimiseur {
 
-    // Paramètre de perturbation: plus agressif pour mieux explorer l'espace
-    private static final double PERTURBATION_FRACTION = 0.33; // 33% des maisons
-
     /**
-     * Optimise le réseau avec stratégie adaptative:
-     * 1. Hill Climbing exhaustif par passe (tests exhaustifs)
-     * 2. Perturbations AGRESSIVES entre passes (33% des maisons)
-     * 3. Multi-passes pour explorer plusieurs bassins
-     * 4. Détection de stagnation: augmente perturbation si pas d'amélioration
+     * Optimise le réseau avec la stratégie historique (Hill Climbing multi-passes adaptatif,
+     * voir HillClimbingMultiPasses).
      */
     public static void optimiserReseau(ReseauElectrique reseau, int k) throws IllegalArgumentException {
         if (reseau == null) {
             throw new IllegalArgumentException("Le réseau ne peut pas être null.");
         }
-        if (k <= 0) {
-            throw new IllegalArgumentException("Le nombre de tentatives doit être positif.");
-        }
-        List<Maison> maisons = new ArrayList<>(reseau.getMaisons());
-        List<Generateur> generateurs = new ArrayList<>(reseau.getGenerateurs());
-        if (maisons.isEmpty() || generateurs.isEmpty()) {
-            System.out.println("Réseau vide, impossible d'optimiser.");
-            return;
-        }
+        optimiser(reseau, new HillClimbingMultiPasses(k));
+    }
 
-        Random random = new Random();
-        double coutInitial = reseau.calculerCoutSilencieux();
-        double meilleurCoutGlobal = coutInitial;
-        List<ConfigurationMaison> meilleurConfig = sauvegarderConfiguration(maisons);
-        
-        // Nombre de passes : plus agressif avec gros k
-        int nbPasses = Math.max(5, Math.min(15, k / 30)); // Min 5 passes, Max 15
-        int ameliorationsTotal = 0;
-        double coutPrecedent = coutInitial;
-
-        System.out.println("Démarrage optimisation (" + nbPasses + " passes HC adaptative)...");
-
-        for (int passe = 0; passe < nbPasses; passe++) {
-            // Hill Climbing exhaustif jusqu'à convergence
-            boolean ameliore = true;
-            int iterationsPass = 0;
-            
-            while (ameliore && iterationsPass < k / nbPasses) {
-                ameliore = false;
-                
-                for (Maison m : maisons) {
-                    Generateur ancienGen = m.getGenerateur();
-                    Generateur meilleurGen = ancienGen;
-                    double meilleurCout = reseau.calculerCoutSilencieux();
-
-                    // Tester tous les générateurs
-                    for (Generateur g : generateurs) {
-                        if (g == ancienGen) continue;
-
-                        if (ancienGen != null) ancienGen.retirerMaison(m);
-                        g.ajouterMaison(m);
-                        double nouveauCout = reseau.calculerCoutSilencieux();
-
-                        if (nouveauCout < meilleurCout) {
-                            meilleurCout = nouveauCout;
-                            meilleurGen = g;
-                        }
-
-                        g.retirerMaison(m);
-                        if (ancienGen != null) ancienGen.ajouterMaison(m);
-                    }
-
-                    // Appliquer le meilleur changement
-                    if (meilleurGen != ancienGen) {
-                        if (ancienGen != null) ancienGen.retirerMaison(m);
-                        meilleurGen.ajouterMaison(m);
-                        ameliorationsTotal++;
-                        ameliore = true;
-                    }
-                }
-                iterationsPass++;
-            }
+    /**
+     * Comme optimiserReseau(reseau, k), mais la recherche part d'une affectation construite
+     * (voir Construction) au lieu des connexions actuelles.
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, int k, Initialisation initialisation) throws IllegalArgumentException {
+        if (initialisation == null) {
+            throw new IllegalArgumentException("L'initialisation ne peut pas être null.");
+        }
+        executer(reseau, new HillClimbingMultiPasses(k), CritereArret.aucun(), initialisation, null);
+    }
 
-            double coutActuel = reseau.calculerCoutSilencieux();
-            
-            // Sauvegarder si meilleur
-            if (coutActuel < meilleurCoutGlobal) {
-                meilleurCoutGlobal = coutActuel;
-                meilleurConfig = sauvegarderConfiguration(maisons);
-                System.out.println("  Passe " + (passe + 1) + ": nouveau meilleur → " + String.format("%.3f", coutActuel));
-            }
+    /**
+     * Comme optimiserReseau(reseau, k[, initialisation]), avec un écouteur de plus (par exemple
+     * une TraceConvergence) en plus des métriques JMX.
+     * @param initialisation  null = partir des connexions actuelles
+     * @param suivi           null = aucun
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, int k, Initialisation initialisation,
+                                       EcouteurRecherche suivi) throws IllegalArgumentException {
+        executer(reseau, new HillClimbingMultiPasses(k), CritereArret.aucun(), initialisation, suivi);
+    }
 
-            // Perturbation ADAPTATIVE pour la prochaine passe
-            if (passe < nbPasses - 1) {
-                // Si stagnation (pas d'amélioration), perturbation PLUS agressif
-                double fractionPerturbation = PERTURBATION_FRACTION;
-                if (Math.abs(coutActuel - coutPrecedent) < 0.001) {
-                    // Stagnation détectée: augmenter perturbation à 50%
-                    fractionPerturbation = 0.50;
-                }
-                
-                int nbPerturbations = Math.max(1, (int) Math.round(maisons.size() * fractionPerturbation));
-                for (int p = 0; p < nbPerturbations; p++) {
-                    Maison m = maisons.get(random.nextInt(maisons.size()));
-                    Generateur g = generateurs.get(random.nextInt(generateurs.size()));
-                    Generateur ancien = m.getGenerateur();
-                    
-                    if (ancien != g) {
-                        if (ancien != null) ancien.retirerMaison(m);
-                        g.ajouterMaison(m);
-                    }
-                }
-            }
-            
-            coutPrecedent = coutActuel;
+    /**
+     * Mode rapide: construit une affectation presque équilibrée en O(H log G), sans recherche
+     * locale, et la recopie dans le réseau.
+     */
+    public static void construire(ReseauElectrique reseau, Initialisation initialisation) throws IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
         }
+        ReseauCompact compact = new ReseauCompact(reseau);
+        double coutInitial = compact.calculerCout();
+        Construction.construire(compact, initialisation);
+        double coutFinal = compact.calculerCout();
+        int reconnexions = compact.appliquer();
+        reseau.effacerModifications();
+        System.out.println("Construction " + initialisation.name().toLowerCase() + ": " + reconnexions + " maison(s) reconnectée(s).");
+        System.out.println("Coût: " + String.format("%.3f", coutInitial) + " → " + String.format("%.3f", coutFinal));
+    }
 
-        // Restaurer la meilleure configuration
-        restaurerConfiguration(meilleurConfig);
-        
-        System.out.println("Optimisation terminée: " + ameliorationsTotal + " améliorations.");
-        System.out.println("Coût: " + String.format("%.3f", coutInitial) + " → " + String.format("%.3f", meilleurCoutGlobal) 
-                         + " (amélioration: " + String.format("%.1f%%", (coutInitial - meilleurCoutGlobal) / coutInitial * 100) + ")");
+    /**
+     * Optimise le réseau avec la stratégie donnée: la recherche se fait sur un ReseauCompact,
+     * puis la meilleure configuration est recopiée dans le réseau.
+     */
+    public static void optimiser(ReseauElectrique reseau, OptimisationStrategy strategie) throws IllegalArgumentException {
+        optimiser(reseau, strategie, CritereArret.aucun());
     }
 
-    // Classe interne pour sauvegarder la configuration
-    private static class ConfigurationMaison {
-        Maison maison;
-        Generateur generateur;
-        ConfigurationMaison(Maison m, Generateur g) {
-            this.maison = m;
-            this.generateur = g;
+    /**
+     * Mode "anytime": relance la stratégie jusqu'à l'échéance, au coût cible ou à l'annulation
+     * du critère, puis recopie la meilleure configuration trouvée (voir RechercheContinue).
+     */
+    public static void optimiserJusqua(ReseauElectrique reseau, OptimisationStrategy strategie,
+                                       CritereArret critere) throws IllegalArgumentException {
+        if (strategie == null) {
+            throw new IllegalArgumentException("La stratégie ne peut pas être null.");
         }
+        optimiser(reseau, new RechercheContinue(strategie), critere);
     }
 
-    private static List<ConfigurationMaison> sauvegarderConfiguration(List<Maison> maisons) {
-        List<ConfigurationMaison> config = new ArrayList<>();
-        for (Maison m : maisons) {
-            config.add(new ConfigurationMaison(m, m.getGenerateur()));
-        }
-        return config;
+    /**
+     * Comme optimiser(reseau, strategie), mais la stratégie s'interrompt dès que le critère
+     * est atteint; la meilleure configuration trouvée jusque-là est recopiée.
+     */
+    public static void optimiser(ReseauElectrique reseau, OptimisationStrategy strategie,
+                                 CritereArret critere) throws IllegalArgumentException {
+        executer(reseau, strategie, critere, null, null);
     }
 
-    private static void restaurerConfiguration(List<ConfigurationMaison> config) {
-        for (ConfigurationMaison c : config) {
-            Generateur ancien = c.maison.getGenerateur();
-            if (ancien != c.generateur) {
-                if (ancien != null) ancien.retirerMaison(c.maison);
-                if (c.generateur != null) c.generateur.ajouterMaison(c.maison);
-            }
+    /**
+     * Comme optimiser(reseau, strategie, critere), avec un écouteur de plus (null = aucun).
+     */
+    public static void optimiser(ReseauElectrique reseau, OptimisationStrategy strategie, CritereArret critere,
+                                 EcouteurRecherche suivi) throws IllegalArgumentException {
+        executer(reseau, strategie, critere, null, suivi);
+    }
+
+    // initialisation null = partir des connexions actuelles; suivi null = métriques JMX seulement
+    private static void executer(ReseauElectrique reseau, OptimisationStrategy strategie, CritereArret critere,
+                                 Initialisation initialisation, EcouteurRecherche suivi) throws IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
         }
+        if (strategie == null) {
+            throw new IllegalArgumentException("La stratégie ne peut pas être null.");
+        }
+        if (critere == null) {
+            throw new IllegalArgumentException("Le critère d'arrêt ne peut pas être null.");
+        }
+        ReseauCompact compact = new ReseauCompact(reseau);
+        if (compact.getNbMaisons() == 0 || compact.getNbGenerateurs() == 0) {
+            System.out.println("Réseau vide, impossible d'optimiser.");
+            return;
+        }
+
+        double coutInitial = reseau.calculerCoutSilencieux();
+        if (initialisation != null) {
+            Construction.construire(compact, initialisation);
+            System.out.println("Départ construit (" + initialisation.name().toLowerCase() + "): coût "
+                             + String.format("%.3f", compact.calculerCout()));
+        }
+        System.out.println("Démarrage optimisation: " + strategie.getNom() + "...");
+
+        MetriquesOptimiseur metriques = MetriquesOptimiseur.enregistrer(strategie.getNom());
+        double coutFinal = strategie.optimiser(compact, new ContexteRecherche(new SplittableRandom(), true, critere,
+                EcouteurRecherche.combiner(metriques, suivi)));
+
+        // Recopier la meilleure configuration dans le réseau
+        compact.appliquer();
+        reseau.effacerModifications();
+
+        System.out.println("Coût: " + String.format("%.3f", coutInitial) + " → " + String.format("%.3f", coutFinal)
+                         + " (amélioration: " + String.format("%.1f%%", (coutInitial - coutFinal) / coutInitial * 100) + ")");
     }
 
     /**
@@ -164,31 +141,26 @@ public class Optimiseur {
         if (k <= 0) {
             throw new IllegalArgumentException("Le nombre de tentatives doit être positif.");
         }
-        List<Maison> maisons = new ArrayList<>(reseau.getMaisons());
-        List<Generateur> generateurs = new ArrayList<>(reseau.getGenerateurs());
-        if (maisons.isEmpty() || generateurs.isEmpty()) return;
+        ReseauCompact compact = new ReseauCompact(reseau);
+        int nbMaisons = compact.getNbMaisons();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        if (nbMaisons == 0 || nbGenerateurs == 0) return;
 
-        Random random = new Random();
+        SplittableRandom random = new SplittableRandom();
+        EvaluateurDelta evaluateur = new EvaluateurDelta(compact);
         int ameliorations = 0;
 
         for (int i = 0; i < k; i++) {
-            Maison m = maisons.get(random.nextInt(maisons.size()));
-            Generateur g = generateurs.get(random.nextInt(generateurs.size()));
-            Generateur ancien = m.getGenerateur();
-            if (ancien == g) continue;
-
-            double coutActuel = reseau.calculerCoutSilencieux();
-            if (ancien != null) ancien.retirerMaison(m);
-            g.ajouterMaison(m);
-            double coutNouveau = reseau.calculerCoutSilencieux();
+            int h = random.nextInt(nbMaisons);
+            int g = random.nextInt(nbGenerateurs);
+            if (compact.getAffectation(h) == g) continue;
 
-            if (coutNouveau < coutActuel) {
+            if (evaluateur.delta(h, g) < -HillClimbingMultiPasses.EPSILON) {
+                evaluateur.deplacer(h, g);
                 ameliorations++;
-            } else {
-                g.retirerMaison(m);
-                if (ancien != null) ancien.ajouterMaison(m);
             }
         }
+        compact.appliquer();
 
         System.out.println("Optimisation Naïve: " + ameliorations + " améliorations sur " + k + " tentatives.");
     }
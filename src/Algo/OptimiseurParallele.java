@@ -0,0 +1,144 @@
+package Algo;
+import Modele.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Optimisation multi-départs parallèle.
+ * Lance N recherches indépendantes d'une même stratégie (par défaut Hill Climbing multi-passes), chacune
+ * avec sa propre copie du réseau compact et son propre SplittableRandom. Les recherches
+ * partagent uniquement la meilleure solution connue (MeilleureSolution, sans verrou);
+ * la configuration gagnante est recopiée dans le réseau à la fin.
+ */
+public class OptimiseurParallele {
+
+    public static int nombreDepartsParDefaut() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Version par défaut: un départ par cœur, exécutés sur le pool ForkJoin commun.
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, int k) throws IllegalArgumentException {
+        optimiserReseau(reseau, new HillClimbingMultiPasses(k), nombreDepartsParDefaut(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param k          budget de chaque départ (même sens que pour Optimiseur.optimiserReseau)
+     * @param nbDeparts  nombre de recherches indépendantes
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, int k, int nbDeparts) throws IllegalArgumentException {
+        optimiserReseau(reseau, new HillClimbingMultiPasses(k), nbDeparts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param strategie  stratégie exécutée par chaque départ (partagée: elle ne garde pas d'état)
+     * @param nbDeparts  nombre de recherches indépendantes
+     * @param executor   exécuteur des recherches (non fermé par cette méthode)
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, OptimisationStrategy strategie, int nbDeparts,
+                                       ExecutorService executor) throws IllegalArgumentException {
+        optimiserReseau(reseau, strategie, nbDeparts, executor, CritereArret.aucun());
+    }
+
+    /**
+     * @param critere  critère d'arrêt partagé par tous les départs (échéance, coût cible, annulation);
+     *                 avec une RechercheContinue, chaque départ tourne jusqu'à ce critère
+     */
+    public static void optimiserReseau(ReseauElectrique reseau, OptimisationStrategy strategie, int nbDeparts,
+                                       ExecutorService executor, CritereArret critere) throws IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        ReseauCompact initial = new ReseauCompact(reseau);
+        if (initial.getNbMaisons() == 0 || initial.getNbGenerateurs() == 0) {
+            System.out.println("Réseau vide, impossible d'optimiser.");
+            return;
+        }
+
+        double coutInitial = reseau.calculerCoutSilencieux();
+        if (strategie == null) {
+            throw new IllegalArgumentException("La stratégie ne peut pas être null.");
+        }
+        System.out.println("Démarrage optimisation parallèle (" + nbDeparts + " départs): " + strategie.getNom() + "...");
+
+        MetriquesOptimiseur metriques = MetriquesOptimiseur.enregistrer(strategie.getNom());
+        double coutFinal = optimiserCompact(initial, strategie, nbDeparts, executor, critere, metriques);
+        initial.appliquer();
+        reseau.effacerModifications();
+
+        System.out.println("Optimisation parallèle terminée.");
+        System.out.println("Coût: " + String.format("%.3f", coutInitial) + " → " + String.format("%.3f", coutFinal)
+                         + " (amélioration: " + String.format("%.1f%%", (coutInitial - coutFinal) / coutInitial * 100) + ")");
+    }
+
+    /**
+     * Version sur un réseau compact, sans recopie ni affichage: à la fin, {@code compact}
+     * contient la meilleure configuration trouvée par l'ensemble des départs.
+     * Permet de calculer hors du thread qui possède le ReseauElectrique (interface graphique)
+     * et d'appliquer le résultat ensuite, en une fois, depuis ce thread.
+     *
+     * @param ecouteur  reçoit les nouveaux meilleurs coûts de tous les départs (null = aucun)
+     * @return le coût de la meilleure configuration
+     */
+    public static double optimiserCompact(ReseauCompact compact, OptimisationStrategy strategie, int nbDeparts,
+                                          ExecutorService executor, CritereArret critere,
+                                          EcouteurRecherche ecouteur) throws IllegalArgumentException {
+        if (compact == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        if (strategie == null) {
+            throw new IllegalArgumentException("La stratégie ne peut pas être null.");
+        }
+        if (nbDeparts <= 0) {
+            throw new IllegalArgumentException("Le nombre de départs doit être positif.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("L'exécuteur ne peut pas être null.");
+        }
+        if (critere == null) {
+            throw new IllegalArgumentException("Le critère d'arrêt ne peut pas être null.");
+        }
+        ReseauCompact initial = new ReseauCompact(compact);
+        MeilleureSolution partage = new MeilleureSolution(
+                new Solution(initial.calculerCout(), initial.copierAffectation()));
+        SplittableRandom racine = new SplittableRandom();
+
+        List<Callable<Double>> departs = new ArrayList<>();
+        for (int d = 0; d < nbDeparts; d++) {
+            final boolean perturbationInitiale = d > 0; // le départ 0 part de la configuration du fichier
+            final SplittableRandom random = racine.split();
+            departs.add(() -> {
+                ReseauCompact copie = new ReseauCompact(initial);
+                if (perturbationInitiale) {
+                    new EvaluateurDelta(copie).perturber(HillClimbingMultiPasses.PERTURBATION_FRACTION, random);
+                }
+                double cout = strategie.optimiser(copie, new ContexteRecherche(random, false, partage, critere, ecouteur));
+                partage.proposer(cout, copie);
+                return cout;
+            });
+        }
+
+        try {
+            for (Future<Double> f : executor.invokeAll(departs)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            critere.annuler(); // les recherches encore en cours rendent leur meilleure solution
+            Thread.currentThread().interrupt();
+            System.out.println("Optimisation parallèle interrompue: meilleure solution conservée.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur dans une recherche parallèle: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Solution meilleure = partage.get();
+        compact.chargerAffectation(meilleure.affectation);
+        return meilleure.cout;
+    }
+}
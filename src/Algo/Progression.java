@@ -0,0 +1,56 @@
+package Algo;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progression d'une recherche, lue par un autre thread (interface graphique) à son rythme:
+ * les recherches ne font qu'écrire, sans verrou, le meilleur coût (minimum par CAS) et
+ * le nombre d'améliorations. Le lecteur décide seul de la fréquence d'affichage.
+ */
+public class Progression implements EcouteurRecherche {
+    private final AtomicLong meilleurCout = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+    private final LongAdder ameliorations = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final long debutNanos = System.nanoTime();
+
+    @Override
+    public void nouveauMeilleur(double cout) {
+        ameliorations.increment();
+        retenirMinimum(cout);
+    }
+
+    /**
+     * Meilleur coût = min(meilleur coût, cout), sans compter d'amélioration (coût courant d'une
+     * étape: la recherche a au moins trouvé ce coût).
+     */
+    void retenirMinimum(double cout) {
+        long actuel = meilleurCout.get();
+        while (cout < Double.longBitsToDouble(actuel) && !meilleurCout.compareAndSet(actuel, Double.doubleToLongBits(cout))) {
+            actuel = meilleurCout.get();
+        }
+    }
+
+    /**
+     * @return le meilleur coût signalé, ou +∞ si aucun
+     */
+    public double getMeilleurCout() {
+        return Double.longBitsToDouble(meilleurCout.get());
+    }
+
+    @Override
+    public void evaluations(long nombre) {
+        evaluations.add(nombre);
+    }
+
+    public long getNbAmeliorations() {
+        return ameliorations.sum();
+    }
+
+    public long getNbEvaluations() {
+        return evaluations.sum();
+    }
+
+    public double getSecondesEcoulees() {
+        return (System.nanoTime() - debutNanos) / 1e9;
+    }
+}
@@ -0,0 +1,57 @@
+package Algo;
+
+/**
+ * Mode "anytime": relance une stratégie en boucle jusqu'au critère d'arrêt du contexte
+ * (échéance, coût cible ou annulation). Chaque tour repart de la meilleure configuration
+ * connue, perturbée; le meilleur résultat est toujours conservé et rendu.
+ *
+ * Sans échéance ni cible, seule une annulation ({@link CritereArret#annuler()}) termine la recherche.
+ */
+public class RechercheContinue implements OptimisationStrategy {
+
+    private final OptimisationStrategy base;
+
+    public RechercheContinue(OptimisationStrategy base) throws IllegalArgumentException {
+        if (base == null) {
+            throw new IllegalArgumentException("La stratégie ne peut pas être null.");
+        }
+        this.base = base;
+    }
+
+    @Override
+    public String getNom() {
+        return base.getNom() + ", relancée jusqu'à l'échéance";
+    }
+
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        double meilleurCout = compact.calculerCout();
+        int[] meilleurConfig = compact.copierAffectation();
+        ContexteRecherche contexteTour = contexte.silencieux();
+        int tours = 0;
+
+        while (!contexte.doitArreter(meilleurCout)) {
+            double cout = base.optimiser(compact, contexteTour);
+            tours++;
+            if (cout < meilleurCout - HillClimbingMultiPasses.EPSILON) {
+                meilleurCout = cout;
+                meilleurConfig = compact.copierAffectation();
+                if (contexte.isVerbeux()) {
+                    System.out.println("  Tour " + tours + ": nouveau meilleur → " + String.format("%.3f", cout));
+                }
+            } else {
+                compact.chargerAffectation(meilleurConfig);
+            }
+            if (contexte.doitArreter(meilleurCout)) break;
+            new EvaluateurDelta(compact).perturber(HillClimbingMultiPasses.PERTURBATION_FRACTION, contexte.getRandom());
+        }
+
+        compact.chargerAffectation(meilleurConfig);
+        if (contexte.isVerbeux()) {
+            CritereArret critere = contexte.getCritere();
+            String raison = critere.estAnnule() ? "annulation" : (critere.estEchu() ? "échéance" : "coût cible atteint");
+            System.out.println("Recherche continue terminée (" + raison + "): " + tours + " tour(s).");
+        }
+        return meilleurCout;
+    }
+}
@@ -0,0 +1,177 @@
+package Algo;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Recherche tabou sur le voisinage "déplacer une maison vers un autre générateur".
+ * À chaque itération on applique le meilleur mouvement admissible (même s'il dégrade le coût),
+ * évalué par delta. Après avoir déplacé la maison h depuis le générateur a, le retour (h, a)
+ * est interdit pendant une durée tirée dans [tenureMin, tenureMax]: la recherche ne peut pas
+ * défaire immédiatement ses propres mouvements, contrairement aux perturbations aléatoires.
+ *
+ * Critère d'aspiration: un mouvement tabou reste admissible s'il mène à un coût
+ * strictement meilleur que le meilleur connu.
+ *
+ * Sur les gros réseaux, seules {@code tailleCandidats} maisons tirées au hasard sont
+ * examinées à chaque itération (liste de candidats), contre tous les générateurs.
+ *
+ * Avec les voisinages ECHANGE et CHAINE, {@code tailleCandidats} mouvements composés de
+ * chaque type sont tirés en plus: un mouvement composé est tabou si l'une de ses maisons
+ * revient sur un générateur interdit, et chaque maison déplacée devient tabou sur son
+ * générateur d'origine.
+ */
+public class RechercheTabou implements OptimisationStrategy {
+
+    private static final int RESYNCHRONISATION = 1000; // itérations entre deux recalculs complets du coût
+
+    private final int nbIterations;
+    private final int tenureMin;
+    private final int tenureMax;
+    private final int tailleCandidats;
+    private final Set<Voisinage> voisinages;
+
+    /**
+     * Paramètres par défaut: tenure dans [5, 15], au plus 200 maisons candidates par itération.
+     */
+    public RechercheTabou(int nbIterations) throws IllegalArgumentException {
+        this(nbIterations, 5, 15, 200);
+    }
+
+    public RechercheTabou(int nbIterations, Set<Voisinage> voisinages) throws IllegalArgumentException {
+        this(nbIterations, 5, 15, 200, voisinages);
+    }
+
+    /**
+     * @param tailleCandidats  maisons examinées par itération (≤ 0 = toutes)
+     */
+    public RechercheTabou(int nbIterations, int tenureMin, int tenureMax, int tailleCandidats) throws IllegalArgumentException {
+        this(nbIterations, tenureMin, tenureMax, tailleCandidats, EnumSet.of(Voisinage.DEPLACEMENT));
+    }
+
+    public RechercheTabou(int nbIterations, int tenureMin, int tenureMax, int tailleCandidats,
+                          Set<Voisinage> voisinages) throws IllegalArgumentException {
+        if (nbIterations <= 0) {
+            throw new IllegalArgumentException("Le nombre d'itérations doit être positif.");
+        }
+        if (tenureMin <= 0 || tenureMax < tenureMin) {
+            throw new IllegalArgumentException("La durée tabou doit vérifier 0 < min ≤ max.");
+        }
+        if (voisinages == null || voisinages.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un voisinage doit être choisi.");
+        }
+        this.nbIterations = nbIterations;
+        this.tenureMin = tenureMin;
+        this.tenureMax = tenureMax;
+        this.tailleCandidats = tailleCandidats;
+        this.voisinages = EnumSet.copyOf(voisinages);
+    }
+
+    @Override
+    public String getNom() {
+        return "Recherche tabou (" + nbIterations + " itérations, tenure " + tenureMin + "-" + tenureMax
+                + ", voisinages " + voisinages + ")";
+    }
+
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        int nbMaisons = compact.getNbMaisons();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        SplittableRandom random = contexte.getRandom();
+        EvaluateurDelta evaluateur = new EvaluateurDelta(compact);
+        TableTabou tabou = new TableTabou(nbMaisons, nbGenerateurs);
+
+        double coutCourant = evaluateur.cout();
+        double meilleurCout = coutCourant;
+        int[] meilleurConfig = compact.copierAffectation();
+        boolean meilleurNonSauve = false; // copie O(H) différée jusqu'à ce qu'on quitte le meilleur état
+        boolean echantillonner = tailleCandidats > 0 && tailleCandidats < nbMaisons;
+        int nbCandidats = echantillonner ? tailleCandidats : nbMaisons;
+        int nbComposes = (tailleCandidats > 0) ? tailleCandidats : nbMaisons;
+        boolean deplacements = voisinages.contains(Voisinage.DEPLACEMENT);
+        Mouvement essai = new Mouvement();
+        Mouvement meilleur = new Mouvement();
+        int ameliorations = 0;
+        long acceptes = 0;
+        long acceptesSignales = 0;
+
+        int iteration = 1;
+        for (; iteration <= nbIterations; iteration++) {
+            if (contexte.doitArreter(meilleurCout)) break;
+            boolean trouve = false;
+            meilleur.delta = Double.POSITIVE_INFINITY;
+
+            for (int c = 0; c < nbCandidats && deplacements; c++) {
+                int h = echantillonner ? random.nextInt(nbMaisons) : c;
+                int actuel = compact.getAffectation(h);
+                for (int g = 0; g < nbGenerateurs; g++) {
+                    if (g == actuel) continue;
+                    double delta = evaluateur.delta(h, g);
+                    if (delta >= meilleur.delta) continue;
+                    boolean aspiration = coutCourant + delta < meilleurCout - HillClimbingMultiPasses.EPSILON;
+                    if (tabou.estTabou(h, g, iteration) && !aspiration) continue;
+                    meilleur.type = Voisinage.DEPLACEMENT;
+                    meilleur.h1 = h;
+                    meilleur.cible = g;
+                    meilleur.delta = delta;
+                    trouve = true;
+                }
+            }
+            for (Voisinage voisinage : voisinages) {
+                if (voisinage == Voisinage.DEPLACEMENT) continue;
+                for (int c = 0; c < nbComposes; c++) {
+                    if (!essai.tirer(voisinage, evaluateur, random) || essai.delta >= meilleur.delta) continue;
+                    boolean aspiration = coutCourant + essai.delta < meilleurCout - HillClimbingMultiPasses.EPSILON;
+                    if (essai.estTabou(tabou, compact, iteration) && !aspiration) continue;
+                    meilleur.copier(essai);
+                    trouve = true;
+                }
+            }
+            if (!trouve) continue; // tous les mouvements examinés sont tabous
+
+            boolean nouveauMeilleur = coutCourant + meilleur.delta < meilleurCout - HillClimbingMultiPasses.EPSILON;
+            if (!nouveauMeilleur && meilleurNonSauve) {
+                meilleurConfig = compact.copierAffectation();
+                meilleurNonSauve = false;
+            }
+
+            int origine1 = compact.getAffectation(meilleur.h1);
+            int origine2 = (meilleur.type != Voisinage.DEPLACEMENT) ? compact.getAffectation(meilleur.h2) : -1;
+            int origine3 = (meilleur.type == Voisinage.CHAINE) ? compact.getAffectation(meilleur.h3) : -1;
+            meilleur.appliquer(evaluateur);
+            coutCourant += meilleur.delta;
+            acceptes++;
+            int tenure = tenureMin + random.nextInt(tenureMax - tenureMin + 1);
+            if (origine1 >= 0) tabou.interdire(meilleur.h1, origine1, iteration + tenure);
+            if (origine2 >= 0) tabou.interdire(meilleur.h2, origine2, iteration + tenure);
+            if (origine3 >= 0) tabou.interdire(meilleur.h3, origine3, iteration + tenure);
+
+            if (nouveauMeilleur) {
+                meilleurCout = coutCourant;
+                meilleurNonSauve = true;
+                ameliorations++;
+                contexte.signalerMeilleur(meilleurCout);
+            }
+            if (iteration % RESYNCHRONISATION == 0) {
+                evaluateur.resynchroniser();
+                coutCourant = evaluateur.cout();
+                contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+                contexte.signalerAcceptes(acceptes - acceptesSignales);
+                acceptesSignales = acceptes;
+                contexte.signalerEtape(iteration / RESYNCHRONISATION, coutCourant, 0);
+            }
+        }
+        contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+        contexte.signalerAcceptes(acceptes - acceptesSignales);
+
+        if (meilleurNonSauve) {
+            meilleurConfig = compact.copierAffectation();
+        }
+        compact.chargerAffectation(meilleurConfig);
+        if (contexte.isVerbeux()) {
+            System.out.println("Recherche tabou terminée: " + ameliorations + " nouveaux meilleurs en "
+                    + (iteration - 1) + " itérations.");
+        }
+        return compact.calculerCout();
+    }
+}
@@ -0,0 +1,208 @@
+package Algo;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Recuit simulé sur le voisinage "déplacer une maison vers un autre générateur",
+ * éventuellement enrichi des échanges et chaînes (voir Voisinage): à chaque pas, le type
+ * de mouvement est tiré uniformément parmi les voisinages activés.
+ * Chaque mouvement tiré au hasard est évalué par delta (EvaluateurDelta): une
+ * amélioration est toujours acceptée, une dégradation d avec probabilité exp(-d/T).
+ *
+ * Paramètres:
+ * - budget: nombre total de mouvements évalués
+ * - température initiale (≤ 0 = calibrée automatiquement pour accepter ~80% des dégradations)
+ * - loi de refroidissement (géométrique ou linéaire) appliquée tous les {@code palier} mouvements
+ * - réchauffe: si la meilleure solution n'a pas progressé depuis {@code paliersAvantRechauffe}
+ *   paliers, la température remonte à facteurRechauffe × T0
+ */
+public class RecuitSimule implements OptimisationStrategy {
+
+    public enum Refroidissement {
+        GEOMETRIQUE, // T ← α × T
+        LINEAIRE     // T ← T - (T0 - Tmin) / nbPaliers
+    }
+
+    private static final double ACCEPTATION_INITIALE = 0.8;
+    private static final int ECHANTILLON_CALIBRAGE = 200;
+    private static final int INTERVALLE_ARRET = 1024; // mouvements entre deux consultations du critère d'arrêt
+
+    private final long budget;
+    private final double temperatureInitiale;
+    private final double temperatureMin;
+    private final Refroidissement refroidissement;
+    private final double alpha;
+    private final int palier;
+    private final int paliersAvantRechauffe;
+    private final double facteurRechauffe;
+    private final Voisinage[] voisinages;
+
+    /**
+     * Recuit avec paramètres par défaut: T0 calibrée, refroidissement géométrique α=0.95,
+     * palier de 100 mouvements par maison (au plus 10000), réchauffe à 50% après 20 paliers sans progrès.
+     */
+    public RecuitSimule(long budget) throws IllegalArgumentException {
+        this(budget, EnumSet.of(Voisinage.DEPLACEMENT));
+    }
+
+    public RecuitSimule(long budget, Set<Voisinage> voisinages) throws IllegalArgumentException {
+        this(budget, 0, 1e-6, Refroidissement.GEOMETRIQUE, 0.95, 0, 20, 0.5, voisinages);
+    }
+
+    /**
+     * @param palier  mouvements par palier de température (≤ 0 = choisi selon la taille du réseau)
+     */
+    public RecuitSimule(long budget, double temperatureInitiale, double temperatureMin,
+                        Refroidissement refroidissement, double alpha, int palier,
+                        int paliersAvantRechauffe, double facteurRechauffe) throws IllegalArgumentException {
+        this(budget, temperatureInitiale, temperatureMin, refroidissement, alpha, palier,
+             paliersAvantRechauffe, facteurRechauffe, EnumSet.of(Voisinage.DEPLACEMENT));
+    }
+
+    public RecuitSimule(long budget, double temperatureInitiale, double temperatureMin,
+                        Refroidissement refroidissement, double alpha, int palier,
+                        int paliersAvantRechauffe, double facteurRechauffe,
+                        Set<Voisinage> voisinages) throws IllegalArgumentException {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Le nombre de mouvements doit être positif.");
+        }
+        if (temperatureMin <= 0) {
+            throw new IllegalArgumentException("La température minimale doit être positive.");
+        }
+        if (refroidissement == null) {
+            throw new IllegalArgumentException("La loi de refroidissement ne peut pas être null.");
+        }
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("Le coefficient de refroidissement doit être dans ]0, 1[.");
+        }
+        if (paliersAvantRechauffe <= 0 || facteurRechauffe <= 0 || facteurRechauffe > 1) {
+            throw new IllegalArgumentException("Paramètres de réchauffe invalides.");
+        }
+        if (voisinages == null || voisinages.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un voisinage doit être choisi.");
+        }
+        this.budget = budget;
+        this.temperatureInitiale = temperatureInitiale;
+        this.temperatureMin = temperatureMin;
+        this.refroidissement = refroidissement;
+        this.alpha = alpha;
+        this.palier = palier;
+        this.paliersAvantRechauffe = paliersAvantRechauffe;
+        this.facteurRechauffe = facteurRechauffe;
+        this.voisinages = EnumSet.copyOf(voisinages).toArray(new Voisinage[0]);
+    }
+
+    @Override
+    public String getNom() {
+        return "Recuit simulé (" + budget + " mouvements, refroidissement " + refroidissement.name().toLowerCase()
+                + ", voisinages " + Arrays.toString(voisinages) + ")";
+    }
+
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        int nbMaisons = compact.getNbMaisons();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        SplittableRandom random = contexte.getRandom();
+        EvaluateurDelta evaluateur = new EvaluateurDelta(compact);
+        Mouvement mouvement = new Mouvement();
+
+        double coutCourant = evaluateur.cout();
+        if (nbGenerateurs < 2) return coutCourant;
+        double meilleurCout = coutCourant;
+        int[] meilleurConfig = compact.copierAffectation();
+        // la copie O(H) n'est faite qu'en quittant un meilleur état, pas à chaque amélioration
+        boolean meilleurNonSauve = false;
+
+        int taillePalier = (palier > 0) ? palier : Math.min(10000, 100 * nbMaisons);
+        long nbPaliers = Math.max(1, budget / taillePalier);
+        double t0 = (temperatureInitiale > 0) ? temperatureInitiale : calibrer(evaluateur, random);
+        double pasLineaire = (t0 - temperatureMin) / nbPaliers;
+        double temperature = t0;
+        int paliersSansProgres = 0;
+        boolean progresPalier = false;
+        int rechauffes = 0;
+        long acceptes = 0;
+        long acceptesSignales = 0;
+        long m = 1;
+
+        for (; m <= budget; m++) {
+            if (m % INTERVALLE_ARRET == 0 && contexte.doitArreter(meilleurCout)) break;
+            Voisinage voisinage = voisinages[voisinages.length == 1 ? 0 : random.nextInt(voisinages.length)];
+            boolean tire = mouvement.tirer(voisinage, evaluateur, random);
+            double delta = mouvement.delta;
+            if (tire && (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature))) {
+                if (delta > 0 && meilleurNonSauve) {
+                    meilleurConfig = compact.copierAffectation();
+                    meilleurNonSauve = false;
+                }
+                mouvement.appliquer(evaluateur);
+                coutCourant += delta;
+                acceptes++;
+                if (coutCourant < meilleurCout - HillClimbingMultiPasses.EPSILON) {
+                    meilleurCout = coutCourant;
+                    meilleurNonSauve = true;
+                    progresPalier = true;
+                    contexte.signalerMeilleur(meilleurCout);
+                }
+            }
+
+            if (m % taillePalier == 0) {
+                // resynchronisation pour éviter la dérive de coutCourant
+                evaluateur.resynchroniser();
+                coutCourant = evaluateur.cout();
+                contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+                contexte.signalerAcceptes(acceptes - acceptesSignales);
+                acceptesSignales = acceptes;
+                contexte.signalerEtape((int) (m / taillePalier), coutCourant, 0);
+                paliersSansProgres = progresPalier ? 0 : paliersSansProgres + 1;
+                progresPalier = false;
+
+                if (paliersSansProgres >= paliersAvantRechauffe) {
+                    temperature = facteurRechauffe * t0;
+                    paliersSansProgres = 0;
+                    rechauffes++;
+                } else if (refroidissement == Refroidissement.GEOMETRIQUE) {
+                    temperature = Math.max(temperatureMin, temperature * alpha);
+                } else {
+                    temperature = Math.max(temperatureMin, temperature - pasLineaire);
+                }
+            }
+        }
+
+        contexte.signalerEvaluations(evaluateur.prendreEvaluations());
+        contexte.signalerAcceptes(acceptes - acceptesSignales);
+        if (meilleurNonSauve) {
+            meilleurConfig = compact.copierAffectation();
+        }
+        compact.chargerAffectation(meilleurConfig);
+        if (contexte.isVerbeux()) {
+            System.out.println("Recuit terminé: " + acceptes + " mouvements acceptés sur " + (m - 1)
+                    + ", " + rechauffes + " réchauffe(s), T0=" + String.format("%.4g", t0) + ".");
+        }
+        return compact.calculerCout();
+    }
+
+    /**
+     * T0 telle qu'une dégradation moyenne soit acceptée avec probabilité ACCEPTATION_INITIALE,
+     * estimée sur un échantillon de mouvements aléatoires (non appliqués).
+     */
+    private double calibrer(EvaluateurDelta evaluateur, SplittableRandom random) {
+        ReseauCompact compact = evaluateur.getReseau();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        double somme = 0;
+        int nbDegradations = 0;
+        for (int i = 0; i < ECHANTILLON_CALIBRAGE && nbGenerateurs > 1; i++) {
+            int h = random.nextInt(compact.getNbMaisons());
+            int g = random.nextInt(nbGenerateurs);
+            double delta = evaluateur.delta(h, g);
+            if (delta > 0) {
+                somme += delta;
+                nbDegradations++;
+            }
+        }
+        if (nbDegradations == 0) return 1.0;
+        return -(somme / nbDegradations) / Math.log(ACCEPTATION_INITIALE);
+    }
+}
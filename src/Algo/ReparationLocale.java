@@ -0,0 +1,273 @@
+package Algo;
+import Modele.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Réoptimisation incrémentale après des modifications du réseau (ajout de maison, connexions
+ * ajoutées, supprimées ou modifiées, capacité changée), sans relancer optimiserReseau sur tout
+ * le réseau.
+ *
+ * Le voisinage est limité aux générateurs modifiés (voir ReseauElectrique#getGenerateursModifies)
+ * et aux NB_EXTREMES générateurs les plus et les moins chargés du réseau; les nouvelles maisons y
+ * sont placées au meilleur delta. Les maisons d'une même consommation étant interchangeables, la
+ * recherche porte ensuite sur les compteurs (générateur, type) du voisinage: transfert de 1, 2, 4...
+ * maisons d'un type, échange de deux types, meilleure amélioration d'abord entre les plus et les
+ * moins chargés du voisinage (tous les couples une fois cet optimum atteint, si le voisinage est
+ * petit). Seules les charges des G générateurs et les maisons du voisinage sont lues: le coût ne
+ * dépend pas du nombre total de maisons.
+ */
+public class ReparationLocale {
+    private static final int NB_EXTREMES = 16;      // générateurs les plus / moins chargés ajoutés au voisinage
+    private static final int NB_EXTREMES_PAS = 8;    // couples examinés à chaque pas: 8 plus chargés × 8 moins chargés
+    private static final int SEUIL_BALAYAGE = 64;    // à l'optimum entre extrêmes, tous les couples si le voisinage est petit
+    private static final long BUDGET_EVALUATIONS = 1_000_000;
+
+    public static ResultatReparation reparer(ReseauElectrique reseau) throws IllegalArgumentException {
+        return reparer(reseau, BUDGET_EVALUATIONS);
+    }
+
+    /**
+     * Répare le voisinage des modifications puis les efface ({@link ReseauElectrique#effacerModifications()}).
+     * @param budgetEvaluations  nombre maximal de mouvements évalués
+     */
+    public static ResultatReparation reparer(ReseauElectrique reseau, long budgetEvaluations) throws IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        if (budgetEvaluations <= 0) {
+            throw new IllegalArgumentException("Le budget d'évaluations doit être positif.");
+        }
+        long debut = System.nanoTime();
+        Generateur[] generateurs = reseau.getGenerateurs().toArray(new Generateur[0]);
+        int nbGenerateurs = generateurs.length;
+        if (nbGenerateurs == 0) {
+            reseau.effacerModifications();
+            return new ResultatReparation(0, 0, 0, 0, 0, 0, 0);
+        }
+        int[] capacite = new int[nbGenerateurs];
+        long[] charge = new long[nbGenerateurs];
+        for (int g = 0; g < nbGenerateurs; g++) {
+            capacite[g] = generateurs[g].getCapaciteMax();
+            charge[g] = generateurs[g].getChargeActuelle();
+        }
+        int penalite = reseau.getPenalite();
+        double coutAvant = ReseauCompact.cout(charge, capacite, penalite);
+        EvaluateurDelta evaluateur = new EvaluateurDelta(capacite, charge, penalite);
+
+        // 1. voisinage: générateurs modifiés + extrêmes de taux
+        boolean[] voisin = new boolean[nbGenerateurs];
+        for (Generateur gen : reseau.getGenerateursModifies()) {
+            voisin[gen.getId()] = true;
+        }
+        Integer[] parTaux = new Integer[nbGenerateurs];
+        for (int g = 0; g < nbGenerateurs; g++) parTaux[g] = g;
+        Arrays.sort(parTaux, (g1, g2) -> Double.compare((double) charge[g1] / capacite[g1], (double) charge[g2] / capacite[g2]));
+        for (int i = 0; i < Math.min(NB_EXTREMES, nbGenerateurs); i++) {
+            voisin[parTaux[i]] = true;
+            voisin[parTaux[nbGenerateurs - 1 - i]] = true;
+        }
+        int nbVoisins = 0;
+        for (boolean v : voisin) if (v) nbVoisins++;
+        int[] voisinage = new int[nbVoisins];
+        for (int g = 0, i = 0; g < nbGenerateurs; g++) {
+            if (voisin[g]) voisinage[i++] = g;
+        }
+
+        // 2. nouvelles maisons (ou déconnectées): sur le meilleur générateur du voisinage
+        long evaluations = 0;
+        int placees = 0;
+        for (Maison maison : reseau.getMaisonsModifiees()) {
+            if (maison.getGenerateur() != null) continue;
+            int c = maison.getConsommation();
+            int meilleur = voisinage[0];
+            double meilleurDelta = Double.POSITIVE_INFINITY;
+            for (int g : voisinage) {
+                double d = evaluateur.delta(c, -1, g);
+                if (d < meilleurDelta) {
+                    meilleurDelta = d;
+                    meilleur = g;
+                }
+            }
+            evaluations += nbVoisins;
+            evaluateur.transferer(-1, meilleur, c);
+            generateurs[meilleur].ajouterMaison(maison);
+            placees++;
+        }
+
+        // 3. compteurs (générateur du voisinage, type), et les maisons correspondantes à déplacer
+        TypeConsommation[] types = TypeConsommation.values();
+        int nbTypes = types.length;
+        int[] compte = new int[nbVoisins * nbTypes];
+        List<List<Maison>> maisonsParType = new ArrayList<>(nbVoisins * nbTypes);
+        for (int k = 0; k < nbVoisins * nbTypes; k++) {
+            maisonsParType.add(new ArrayList<>());
+        }
+        for (int i = 0; i < nbVoisins; i++) {
+            for (Maison maison : generateurs[voisinage[i]].getMaisonsConnectees()) {
+                int k = i * nbTypes + maison.getTypeConsommation().ordinal();
+                compte[k]++;
+                maisonsParType.get(k).add(maison);
+            }
+        }
+
+        // 4. meilleure amélioration, jusqu'à l'optimum local ou au budget
+        Recherche recherche = new Recherche(evaluateur, capacite, charge, voisinage, compte, maisonsParType, types);
+        int deplacements = 0;
+        while (recherche.evaluations + evaluations < budgetEvaluations && recherche.chercher()) {
+            for (int q = 0; q < recherche.quantite; q++) {
+                deplacer(generateurs, recherche, recherche.meilleurA, recherche.meilleurB, types[recherche.meilleurT]);
+            }
+            deplacements += recherche.quantite;
+            if (recherche.meilleurU >= 0) {
+                deplacer(generateurs, recherche, recherche.meilleurB, recherche.meilleurA, types[recherche.meilleurU]);
+                deplacements++;
+            }
+        }
+        evaluations += recherche.evaluations;
+
+        double coutApres = reseau.calculerCoutSilencieux();
+        reseau.effacerModifications();
+        return new ResultatReparation(coutAvant, coutApres, placees, deplacements, nbVoisins, evaluations,
+                (System.nanoTime() - debut) / 1e9);
+    }
+
+    // la dernière maison du type connectée au i-ème générateur du voisinage passe au j-ème (modèle objet et charges)
+    private static void deplacer(Generateur[] generateurs, Recherche recherche, int i, int j, TypeConsommation type) {
+        int source = i * recherche.nbTypes + type.ordinal();
+        int destination = j * recherche.nbTypes + type.ordinal();
+        List<Maison> candidates = recherche.maisonsParType.get(source);
+        Maison maison = candidates.remove(candidates.size() - 1);
+        generateurs[recherche.voisinage[i]].retirerMaison(maison);
+        generateurs[recherche.voisinage[j]].ajouterMaison(maison);
+        recherche.maisonsParType.get(destination).add(maison);
+        recherche.evaluateur.transferer(recherche.voisinage[i], recherche.voisinage[j], type.getValeur());
+        recherche.compte[source]--;
+        recherche.compte[destination]++;
+    }
+
+    /**
+     * Recherche du meilleur mouvement sur les compteurs du voisinage (indices i, j dans le voisinage).
+     */
+    private static class Recherche {
+        final EvaluateurDelta evaluateur;
+        final int[] capacite;
+        final long[] charge;
+        final int[] voisinage;
+        final int[] compte;
+        final List<List<Maison>> maisonsParType; // même indice que compte
+        final TypeConsommation[] types;
+        final int nbTypes;
+        private final int nbExtremes;
+        private final int[] plusCharges;
+        private final int[] moinsCharges;
+        long evaluations;
+
+        // meilleur mouvement trouvé par chercher(): quantite maisons de type T de A vers B,
+        // plus une maison de type U de B vers A si U >= 0 (échange)
+        int meilleurA, meilleurB, meilleurT, meilleurU, quantite;
+        private double meilleurDelta;
+
+        Recherche(EvaluateurDelta evaluateur, int[] capacite, long[] charge, int[] voisinage, int[] compte,
+                  List<List<Maison>> maisonsParType, TypeConsommation[] types) {
+            this.evaluateur = evaluateur;
+            this.capacite = capacite;
+            this.charge = charge;
+            this.voisinage = voisinage;
+            this.compte = compte;
+            this.maisonsParType = maisonsParType;
+            this.types = types;
+            this.nbTypes = types.length;
+            this.nbExtremes = Math.min(NB_EXTREMES_PAS, voisinage.length);
+            this.plusCharges = new int[nbExtremes];
+            this.moinsCharges = new int[nbExtremes];
+        }
+
+        /**
+         * @return vrai si un mouvement améliorant a été trouvé (meilleurA, meilleurB...)
+         */
+        boolean chercher() {
+            selectionnerExtremes();
+            meilleurDelta = -HillClimbingMultiPasses.EPSILON;
+            meilleurA = -1;
+            for (int i : plusCharges) {
+                for (int j : moinsCharges) {
+                    if (i != j) examiner(i, j);
+                }
+            }
+            if (meilleurA < 0 && voisinage.length <= SEUIL_BALAYAGE) {
+                for (int i = 0; i < voisinage.length; i++) {
+                    for (int j = 0; j < voisinage.length; j++) {
+                        if (i != j) examiner(i, j);
+                    }
+                }
+            }
+            return meilleurA >= 0;
+        }
+
+        // transferts de 1, 2, 4... maisons d'un type de i vers j, et échanges contre un type plus léger
+        private void examiner(int i, int j) {
+            int a = voisinage[i];
+            int b = voisinage[j];
+            for (int t = 0; t < nbTypes; t++) {
+                int disponibles = compte[i * nbTypes + t];
+                if (disponibles == 0) continue;
+                int ct = types[t].getValeur();
+                for (int q = 1; q <= disponibles; q *= 2) {
+                    double d = evaluateur.deltaVariations(a, -(long) q * ct, b, (long) q * ct, -1, 0);
+                    evaluations++;
+                    if (d < meilleurDelta) {
+                        retenir(d, i, j, t, -1, q);
+                    } else if (q > 1) {
+                        break; // paquets plus gros: le déséquilibre est déjà dépassé
+                    }
+                }
+                for (int u = 0; u < nbTypes; u++) {
+                    int cu = types[u].getValeur();
+                    if (cu >= ct || compte[j * nbTypes + u] == 0) continue;
+                    double d = evaluateur.deltaVariations(a, cu - ct, b, ct - cu, -1, 0);
+                    evaluations++;
+                    if (d < meilleurDelta) {
+                        retenir(d, i, j, t, u, 1);
+                    }
+                }
+            }
+        }
+
+        private void retenir(double delta, int i, int j, int t, int u, int q) {
+            meilleurDelta = delta;
+            meilleurA = i;
+            meilleurB = j;
+            meilleurT = t;
+            meilleurU = u;
+            quantite = q;
+        }
+
+        // les nbExtremes indices du voisinage de plus fort et de plus faible taux
+        private void selectionnerExtremes() {
+            Arrays.fill(plusCharges, -1);
+            Arrays.fill(moinsCharges, -1);
+            for (int i = 0; i < voisinage.length; i++) {
+                double u = taux(i);
+                inserer(plusCharges, i, u, true);
+                inserer(moinsCharges, i, u, false);
+            }
+        }
+
+        private void inserer(int[] extremes, int i, double u, boolean decroissant) {
+            int k = extremes.length - 1;
+            if (extremes[k] >= 0 && (decroissant ? u <= taux(extremes[k]) : u >= taux(extremes[k]))) return;
+            while (k > 0 && (extremes[k - 1] < 0 || (decroissant ? u > taux(extremes[k - 1]) : u < taux(extremes[k - 1])))) {
+                extremes[k] = extremes[k - 1];
+                k--;
+            }
+            extremes[k] = i;
+        }
+
+        private double taux(int i) {
+            int g = voisinage[i];
+            return (double) charge[g] / capacite[g];
+        }
+    }
+}
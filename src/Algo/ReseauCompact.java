@@ -0,0 +1,153 @@
+package Algo;
+import Modele.*;
+import java.util.Arrays;
+
+/**
+ * Instantané compact d'un réseau, utilisé par tous les algorithmes d'optimisation.
+ * Maisons et générateurs sont numérotés dans l'ordre du réseau (0..H-1, 0..G-1);
+ * l'affectation, les consommations, les capacités et les charges sont rangées dans
+ * des tableaux primitifs contigus. La boucle de recherche ne touche donc jamais au
+ * graphe d'objets ni aux maps indexées par nom: le résultat n'est recopié dans le
+ * réseau qu'à la fin, par {@link #appliquer()}.
+ */
+public class ReseauCompact {
+    final int[] affectation;   // indice du générateur de chaque maison (-1 si non connectée)
+    final int[] consommation;  // consommation de chaque maison (kW)
+    final int[] capacite;      // capacité de chaque générateur (kW)
+    final long[] charge;       // charge courante de chaque générateur (kW)
+    final int penalite;
+
+    // références vers le modèle objet, uniquement pour la recopie finale
+    private final Maison[] maisons;
+    private final Generateur[] generateurs;
+
+    public ReseauCompact(ReseauElectrique reseau) throws IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        this.maisons = reseau.getMaisons().toArray(new Maison[0]);
+        this.generateurs = reseau.getGenerateurs().toArray(new Generateur[0]);
+        this.penalite = reseau.getPenalite();
+
+        this.capacite = new int[generateurs.length];
+        for (int g = 0; g < generateurs.length; g++) {
+            capacite[g] = generateurs[g].getCapaciteMax();
+        }
+
+        this.affectation = new int[maisons.length];
+        this.consommation = new int[maisons.length];
+        this.charge = new long[generateurs.length];
+        for (int h = 0; h < maisons.length; h++) {
+            consommation[h] = maisons[h].getConsommation();
+            Generateur gen = maisons[h].getGenerateur();
+            affectation[h] = (gen != null) ? gen.getId() : -1; // identifiant = indice dans getGenerateurs()
+            if (affectation[h] >= 0) charge[affectation[h]] += consommation[h];
+        }
+    }
+
+    /**
+     * Copie privée pour une recherche indépendante: l'affectation et les charges sont
+     * dupliquées, les données immuables (consommations, capacités, références) partagées.
+     */
+    public ReseauCompact(ReseauCompact source) {
+        this.affectation = source.affectation.clone();
+        this.consommation = source.consommation;
+        this.capacite = source.capacite;
+        this.charge = source.charge.clone();
+        this.penalite = source.penalite;
+        this.maisons = source.maisons;
+        this.generateurs = source.generateurs;
+    }
+
+    public int getNbMaisons() {
+        return affectation.length;
+    }
+
+    public int getNbGenerateurs() {
+        return capacite.length;
+    }
+
+    public int getPenalite() {
+        return penalite;
+    }
+
+    public int getAffectation(int h) {
+        return affectation[h];
+    }
+
+    /**
+     * Déplace la maison h vers le générateur g (tableaux uniquement).
+     */
+    public void deplacer(int h, int g) {
+        int ancien = affectation[h];
+        if (ancien == g) return;
+        if (ancien >= 0) charge[ancien] -= consommation[h];
+        if (g >= 0) charge[g] += consommation[h];
+        affectation[h] = g;
+    }
+
+    public int[] copierAffectation() {
+        return affectation.clone();
+    }
+
+    /**
+     * Remplace l'affectation courante (ex: meilleure configuration sauvegardée)
+     * et recalcule les charges en O(H).
+     */
+    public void chargerAffectation(int[] source) {
+        if (source.length != affectation.length) {
+            throw new IllegalArgumentException("Affectation de taille incompatible.");
+        }
+        System.arraycopy(source, 0, affectation, 0, source.length);
+        Arrays.fill(charge, 0);
+        for (int h = 0; h < affectation.length; h++) {
+            if (affectation[h] >= 0) charge[affectation[h]] += consommation[h];
+        }
+    }
+
+    /**
+     * Coût complet recalculé depuis les charges: Disp(S) + λ × Surcharge(S), en O(G).
+     */
+    public double calculerCout() {
+        return cout(charge, capacite, penalite);
+    }
+
+    /**
+     * Coût d'un vecteur de charges quelconque (utilisé aussi par BranchAndBound sur ses propres charges).
+     */
+    static double cout(long[] charge, int[] capacite, int penalite) {
+        int nbGen = capacite.length;
+        if (nbGen == 0) return 0;
+        double sommeTaux = 0;
+        double surcharge = 0;
+        for (int g = 0; g < nbGen; g++) {
+            double u = (double) charge[g] / capacite[g];
+            sommeTaux += u;
+            surcharge += Math.max(0, u - 1);
+        }
+        double moyenne = sommeTaux / nbGen;
+        double dispersion = 0;
+        for (int g = 0; g < nbGen; g++) {
+            dispersion += Math.abs((double) charge[g] / capacite[g] - moyenne);
+        }
+        return dispersion + penalite * surcharge;
+    }
+
+    /**
+     * Recopie l'affectation dans le réseau d'origine. Seules les maisons dont le
+     * générateur a changé sont reconnectées (O(1) chacune côté Generateur).
+     * @return le nombre de maisons reconnectées
+     */
+    public int appliquer() {
+        int reconnexions = 0;
+        for (int h = 0; h < maisons.length; h++) {
+            Generateur cible = (affectation[h] >= 0) ? generateurs[affectation[h]] : null;
+            Generateur actuel = maisons[h].getGenerateur();
+            if (actuel == cible) continue;
+            if (actuel != null) actuel.retirerMaison(maisons[h]);
+            if (cible != null) cible.ajouterMaison(maisons[h]);
+            reconnexions++;
+        }
+        return reconnexions;
+    }
+}
@@ -0,0 +1,67 @@
+package Algo;
+
+/**
+ * Résultat de {@link BranchAndBound#resoudre}: meilleur coût trouvé, borne inférieure
+ * prouvée et écart entre les deux. Si la recherche a été menée à terme, la borne est
+ * égale au coût et la solution est optimale.
+ */
+public class ResultatExact {
+    private final double cout;
+    private final double borneInferieure;
+    private final boolean prouve;
+    private final double coutHeuristique;
+    private final long noeuds;
+    private final double secondes;
+
+    ResultatExact(double cout, double borneInferieure, boolean prouve, double coutHeuristique, long noeuds, double secondes) {
+        this.cout = cout;
+        this.borneInferieure = borneInferieure;
+        this.prouve = prouve;
+        this.coutHeuristique = coutHeuristique;
+        this.noeuds = noeuds;
+        this.secondes = secondes;
+    }
+
+    public double getCout() {
+        return cout;
+    }
+
+    public double getBorneInferieure() {
+        return borneInferieure;
+    }
+
+    public boolean estProuve() {
+        return prouve;
+    }
+
+    /**
+     * Coût de la solution de départ (Hill Climbing), pour mesurer l'écart de l'heuristique à l'optimum.
+     */
+    public double getCoutHeuristique() {
+        return coutHeuristique;
+    }
+
+    /**
+     * Écart relatif (coût - borne) / coût, 0 si l'optimum est prouvé.
+     */
+    public double getEcart() {
+        if (prouve || cout <= 0) return 0;
+        return (cout - borneInferieure) / cout;
+    }
+
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    public double getSecondes() {
+        return secondes;
+    }
+
+    @Override
+    public String toString() {
+        String entete = prouve
+                ? String.format("Optimum prouvé: %.4f", cout)
+                : String.format("Meilleur coût: %.4f, borne inférieure: %.4f (écart %.2f%%)", cout, borneInferieure, 100 * getEcart());
+        return entete + String.format(" — départ heuristique %.4f, %d nœuds en %.2f s.", coutHeuristique, noeuds, secondes);
+    }
+}
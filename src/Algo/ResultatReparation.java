@@ -0,0 +1,67 @@
+package Algo;
+
+/**
+ * Bilan de {@link ReparationLocale#reparer}: coût avant et après, maisons placées ou déplacées.
+ */
+public class ResultatReparation {
+    private final double coutAvant;
+    private final double coutApres;
+    private final int maisonsPlacees;
+    private final int deplacements;
+    private final int generateursExamines;
+    private final long evaluations;
+    private final double secondes;
+
+    ResultatReparation(double coutAvant, double coutApres, int maisonsPlacees, int deplacements,
+                       int generateursExamines, long evaluations, double secondes) {
+        this.coutAvant = coutAvant;
+        this.coutApres = coutApres;
+        this.maisonsPlacees = maisonsPlacees;
+        this.deplacements = deplacements;
+        this.generateursExamines = generateursExamines;
+        this.evaluations = evaluations;
+        this.secondes = secondes;
+    }
+
+    public double getCoutAvant() {
+        return coutAvant;
+    }
+
+    public double getCoutApres() {
+        return coutApres;
+    }
+
+    /**
+     * Coût regagné (coût avant - coût après, positif si la réparation améliore).
+     */
+    public double getGain() {
+        return coutAvant - coutApres;
+    }
+
+    public int getMaisonsPlacees() {
+        return maisonsPlacees;
+    }
+
+    public int getDeplacements() {
+        return deplacements;
+    }
+
+    public int getGenerateursExamines() {
+        return generateursExamines;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public double getSecondes() {
+        return secondes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Réparation locale: coût %.4f → %.4f (gain %.4f), %d maison(s) placée(s), %d déplacement(s) "
+                + "sur %d générateur(s), %.1f ms.", coutAvant, coutApres, getGain(), maisonsPlacees, deplacements,
+                generateursExamines, secondes * 1000);
+    }
+}
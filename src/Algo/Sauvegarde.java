@@ -1,11 +1,15 @@
 package Algo;
 import Modele.*;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 
 public class Sauvegarde {
@@ -19,35 +23,169 @@ public class Sauvegarde {
         if (reseau == null) {
             throw new IllegalArgumentException("Le réseau ne peut pas être null.");
         }
+        sauvegarderVers(reseau, cheminDansAmeliorees(nomFichier));
+    }
+
+    /**
+     * Chemin du fichier dans le dossier des instances améliorées (créé au besoin): solutions,
+     * traces de convergence...
+     */
+    public static Path cheminDansAmeliorees(String nomFichier) throws IOException, IllegalArgumentException {
         if (nomFichier == null || nomFichier.trim().isEmpty()) {
             throw new IllegalArgumentException("Le nom du fichier ne peut pas être vide.");
         }
-        
         try {
             Files.createDirectories(Paths.get(DOSSIER_AMELIOREES));
         } catch (IOException e) {
             throw new IOException("Erreur création du dossier " + DOSSIER_AMELIOREES + ": " + e.getMessage(), e);
         }
-        
-        Path cheminFichier = Paths.get(DOSSIER_AMELIOREES, nomFichier);
-        List<String> lignes = new ArrayList<>();
-        
-        for (Generateur gen : reseau.getGenerateurs()) {
-            lignes.add("generateur(" + gen.getNom() + "," + gen.getCapaciteMax() + ").");
-        }
-        for (Maison maison : reseau.getMaisons()) {
-            lignes.add("maison(" + maison.getNom() + "," + maison.getTypeConsommation().name() + ").");
+        return Paths.get(DOSSIER_AMELIOREES, nomFichier);
+    }
+
+    /**
+     * Écrit le réseau dans le fichier donné, au format choisi par l'extension
+     * (binaire pour .rsb, voir FormatBinaire; texte sinon).
+     * L'écriture se fait dans un fichier temporaire du même dossier, renommé ensuite
+     * atomiquement: en cas d'erreur, l'ancien fichier reste intact.
+     */
+    public static void sauvegarderVers(ReseauElectrique reseau, Path cheminFichier) throws IOException, IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
         }
-        for (Generateur gen : reseau.getGenerateurs()) {
-            for (Maison maison : gen.getMaisonsConnectees()) {
-                lignes.add("connexion(" + gen.getNom() + "," + maison.getNom() + ").");
-            }
+        if (cheminFichier == null) {
+            throw new IllegalArgumentException("Le nom du fichier ne peut pas être vide.");
         }
-        
+        Path absolu = cheminFichier.toAbsolutePath();
+        Path temporaire = absolu.resolveSibling(absolu.getFileName() + ".tmp");
         try {
-            Files.write(cheminFichier, lignes);
+            if (FormatBinaire.estBinaire(absolu.toString())) {
+                FormatBinaire.ecrire(reseau, temporaire);
+            } else {
+                ecrireTexte(reseau, temporaire);
+            }
+            try {
+                Files.move(temporaire, absolu, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaire, absolu, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporaire = null;
         } catch (IOException e) {
             throw new IOException("Erreur d'écriture du fichier: " + e.getMessage(), e);
+        } finally {
+            if (temporaire != null) {
+                Files.deleteIfExists(temporaire);
+            }
+        }
+    }
+
+    /**
+     * Format texte, encodé directement dans un tampon d'octets vidé dans le canal:
+     * aucune ligne n'est construite en String (un million de maisons = deux millions de lignes).
+     */
+    private static void ecrireTexte(ReseauElectrique reseau, Path chemin) throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Tampon tampon = new Tampon(canal);
+            for (Generateur gen : reseau.getGenerateurs()) {
+                tampon.ascii("generateur(").texte(gen.getNom()).ascii(",").entier(gen.getCapaciteMax()).ascii(").\n");
+            }
+            for (Maison maison : reseau.getMaisons()) {
+                tampon.ascii("maison(").texte(maison.getNom()).ascii(",")
+                        .ascii(maison.getTypeConsommation().name()).ascii(").\n");
+            }
+            for (Generateur gen : reseau.getGenerateurs()) {
+                byte[] debutLigne = ("connexion(" + gen.getNom() + ",").getBytes(StandardCharsets.UTF_8);
+                for (Maison maison : gen.getMaisonsConnectees()) {
+                    tampon.octets(debutLigne).texte(maison.getNom()).ascii(").\n");
+                }
+            }
+            tampon.vider();
+        }
+    }
+
+    private static class Tampon {
+        private static final int TAILLE = 1 << 20;
+
+        private final FileChannel canal;
+        private final byte[] octets = new byte[TAILLE];
+        private int position;
+
+        Tampon(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        /** Chaîne connue comme ASCII (mots-clés, noms d'enum). */
+        Tampon ascii(String s) throws IOException {
+            int n = s.length();
+            reserver(n);
+            for (int i = 0; i < n; i++) {
+                octets[position++] = (byte) s.charAt(i);
+            }
+            return this;
+        }
+
+        /** Nom quelconque: copie directe s'il est ASCII, encodage UTF-8 sinon. */
+        Tampon texte(String s) throws IOException {
+            int n = s.length();
+            reserver(n);
+            int debut = position;
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    position = debut;
+                    return octets(s.getBytes(StandardCharsets.UTF_8));
+                }
+                octets[position++] = (byte) c;
+            }
+            return this;
+        }
+
+        Tampon octets(byte[] valeur) throws IOException {
+            reserver(valeur.length);
+            System.arraycopy(valeur, 0, octets, position, valeur.length);
+            position += valeur.length;
+            return this;
+        }
+
+        Tampon entier(int valeur) throws IOException {
+            reserver(11);
+            if (valeur < 0) {
+                octets[position++] = '-';
+                valeur = -valeur; // Integer.MIN_VALUE n'est pas une capacité valide
+            }
+            int fin = position + chiffres(valeur);
+            position = fin;
+            do {
+                octets[--fin] = (byte) ('0' + valeur % 10);
+                valeur /= 10;
+            } while (valeur > 0);
+            return this;
+        }
+
+        private static int chiffres(int valeur) {
+            int n = 1;
+            while (valeur >= 10) {
+                valeur /= 10;
+                n++;
+            }
+            return n;
+        }
+
+        private void reserver(int n) throws IOException {
+            if (TAILLE - position < n) {
+                vider();
+                if (n > TAILLE) {
+                    throw new IOException("nom trop long (" + n + " octets).");
+                }
+            }
+        }
+
+        void vider() throws IOException {
+            ByteBuffer contenu = ByteBuffer.wrap(octets, 0, position);
+            while (contenu.hasRemaining()) {
+                canal.write(contenu);
+            }
+            position = 0;
         }
     }
 }
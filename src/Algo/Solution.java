@@ -0,0 +1,16 @@
+package Algo;
+
+/**
+ * Configuration figée (affectation maison → générateur) et son coût.
+ * Le tableau n'est jamais modifié après construction: une Solution peut être
+ * partagée sans verrou entre plusieurs threads.
+ */
+class Solution {
+    final double cout;
+    final int[] affectation;
+
+    Solution(double cout, int[] affectation) {
+        this.cout = cout;
+        this.affectation = affectation;
+    }
+}
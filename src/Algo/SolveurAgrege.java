@@ -0,0 +1,336 @@
+package Algo;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Résolution dans l'espace agrégé: les maisons d'une même consommation (BASSE, NORMAL, FORTE)
+ * sont interchangeables et le coût ne dépend que du nombre de maisons de chaque type par
+ * générateur. La recherche porte donc sur T × G compteurs (T = nombre de consommations
+ * distinctes, 3 en pratique) au lieu de H affectations, quelle que soit la taille du réseau.
+ *
+ * Recherche locale itérée sur les compteurs:
+ * - transfert de q maisons d'un type de a vers b (q = 1, 2, 4, ...: les gros déséquilibres
+ *   se résorbent en O(log H) mouvements), entre les générateurs les plus et les moins chargés;
+ * - échange d'une maison d'un type contre une maison d'un autre type entre a et b;
+ * - à l'optimum local, balayage de tous les couples (a, b) pour G ≤ SEUIL_BALAYAGE, puis perturbation.
+ *
+ * La solution agrégée est ensuite projetée sur les maisons: une maison reste sur son générateur
+ * tant que le compteur cible de son type n'y est pas atteint, les autres comblent les déficits.
+ * Le nombre de reconnexions est ainsi minimal pour les compteurs obtenus.
+ */
+public class SolveurAgrege implements OptimisationStrategy {
+
+    private static final int NB_EXTREMES = 16;      // générateurs les plus / moins chargés examinés à chaque pas
+    private static final int SEUIL_BALAYAGE = 512;  // balayage complet des couples à l'optimum local
+    private static final int INTERVALLE_RESYNCHRONISATION = 1000;
+
+    private final int nbTours;
+
+    /**
+     * Paramètres par défaut: 100 tours de perturbation.
+     */
+    public SolveurAgrege() {
+        this(100);
+    }
+
+    /**
+     * @param nbTours  nombre de perturbations suivies d'une descente (recherche locale itérée)
+     */
+    public SolveurAgrege(int nbTours) throws IllegalArgumentException {
+        if (nbTours < 0) {
+            throw new IllegalArgumentException("Le nombre de tours ne peut pas être négatif.");
+        }
+        this.nbTours = nbTours;
+    }
+
+    @Override
+    public String getNom() {
+        return "Solveur agrégé par type (" + nbTours + " tours)";
+    }
+
+    @Override
+    public double optimiser(ReseauCompact compact, ContexteRecherche contexte) {
+        int nbMaisons = compact.getNbMaisons();
+        int nbGenerateurs = compact.getNbGenerateurs();
+        if (nbMaisons == 0 || nbGenerateurs == 0) return compact.calculerCout();
+
+        // consommations distinctes (types), par valeur décroissante
+        int[] valeurs = Arrays.stream(compact.consommation).distinct().sorted().toArray();
+        int nbTypes = valeurs.length;
+        for (int i = 0; i < nbTypes / 2; i++) {
+            int v = valeurs[i];
+            valeurs[i] = valeurs[nbTypes - 1 - i];
+            valeurs[nbTypes - 1 - i] = v;
+        }
+        int[] typeDe = new int[nbMaisons];
+        for (int h = 0; h < nbMaisons; h++) {
+            int t = 0;
+            while (valeurs[t] != compact.consommation[h]) t++;
+            typeDe[h] = t;
+        }
+
+        Agregat agregat = new Agregat(compact.capacite, compact.penalite, valeurs);
+        int[] nonConnectes = new int[nbTypes];
+        for (int h = 0; h < nbMaisons; h++) {
+            int g = compact.getAffectation(h);
+            if (g >= 0) {
+                agregat.compte[g * nbTypes + typeDe[h]]++;
+                agregat.charge[g] += valeurs[typeDe[h]];
+            } else {
+                nonConnectes[typeDe[h]]++;
+            }
+        }
+        agregat.evaluateur.resynchroniser();
+        agregat.placer(nonConnectes);
+
+        SplittableRandom random = contexte.getRandom();
+        agregat.descendre(contexte);
+        double meilleurCout = agregat.evaluateur.cout();
+        int[] meilleurCompte = agregat.compte.clone();
+        contexte.signalerMeilleur(meilleurCout);
+
+        long mouvementsSignales = 0;
+        int tour = 0;
+        for (; tour < nbTours && !contexte.doitArreter(meilleurCout); tour++) {
+            int taillePerturbation = agregat.perturber(random);
+            agregat.descendre(contexte);
+            double cout = agregat.evaluateur.cout();
+            contexte.signalerEvaluations(agregat.evaluateur.prendreEvaluations());
+            contexte.signalerAcceptes(agregat.mouvements - mouvementsSignales);
+            mouvementsSignales = agregat.mouvements;
+            contexte.signalerEtape(tour + 1, cout, taillePerturbation);
+            if (cout < meilleurCout - HillClimbingMultiPasses.EPSILON) {
+                meilleurCout = cout;
+                meilleurCompte = agregat.compte.clone();
+                contexte.signalerMeilleur(meilleurCout);
+            } else {
+                agregat.charger(meilleurCompte);
+            }
+        }
+
+        contexte.signalerEvaluations(agregat.evaluateur.prendreEvaluations());
+        contexte.signalerAcceptes(agregat.mouvements - mouvementsSignales);
+        int reconnexions = projeter(compact, typeDe, nbTypes, meilleurCompte);
+        if (contexte.isVerbeux()) {
+            System.out.println("Solveur agrégé: " + nbTypes + " type(s) × " + nbGenerateurs + " générateur(s), "
+                    + tour + " tour(s), " + reconnexions + " maison(s) à reconnecter.");
+        }
+        return compact.calculerCout();
+    }
+
+    /**
+     * Affecte les maisons du réseau compact selon les compteurs cibles en déplaçant le moins
+     * de maisons possible: Σ max(0, actuel - cible) par (générateur, type), plus les non connectées.
+     * @return le nombre de maisons déplacées
+     */
+    static int projeter(ReseauCompact compact, int[] typeDe, int nbTypes, int[] cible) {
+        int nbMaisons = compact.getNbMaisons();
+        int[] places = cible.clone(); // places encore libres par (générateur, type)
+        int[] aDeplacer = new int[nbMaisons];
+        int nbADeplacer = 0;
+        for (int h = 0; h < nbMaisons; h++) {
+            int g = compact.getAffectation(h);
+            if (g >= 0 && places[g * nbTypes + typeDe[h]] > 0) {
+                places[g * nbTypes + typeDe[h]]--;
+            } else {
+                aDeplacer[nbADeplacer++] = h;
+            }
+        }
+        int[] prochain = new int[nbTypes]; // premier générateur pouvant encore avoir une place, par type
+        for (int i = 0; i < nbADeplacer; i++) {
+            int h = aDeplacer[i];
+            int t = typeDe[h];
+            int g = prochain[t];
+            while (places[g * nbTypes + t] == 0) {
+                g++;
+            }
+            prochain[t] = g;
+            places[g * nbTypes + t]--;
+            compact.deplacer(h, g);
+        }
+        return nbADeplacer;
+    }
+
+    /**
+     * Compteurs (générateur, type) et charges correspondantes, avec leur évaluateur incrémental.
+     */
+    private static class Agregat {
+        final int nbGenerateurs;
+        final int nbTypes;
+        final int[] valeurs;
+        final int[] capacite;
+        final int[] compte;       // compte[g * nbTypes + t]
+        final long[] charge;
+        final EvaluateurDelta evaluateur;
+        private final int[] plusCharges = new int[NB_EXTREMES];
+        private final int[] moinsCharges = new int[NB_EXTREMES];
+        private int pas;
+        long mouvements;          // mouvements appliqués par descendre()
+
+        // meilleur mouvement du pas courant
+        private double meilleurDelta;
+        private int ma, mb, mt1, mt2;
+        private long mq;
+
+        Agregat(int[] capacite, int penalite, int[] valeurs) {
+            this.nbGenerateurs = capacite.length;
+            this.nbTypes = valeurs.length;
+            this.valeurs = valeurs;
+            this.capacite = capacite;
+            this.compte = new int[nbGenerateurs * nbTypes];
+            this.charge = new long[nbGenerateurs];
+            this.evaluateur = new EvaluateurDelta(capacite, charge, penalite);
+        }
+
+        void charger(int[] source) {
+            System.arraycopy(source, 0, compte, 0, compte.length);
+            Arrays.fill(charge, 0);
+            for (int g = 0; g < nbGenerateurs; g++) {
+                for (int t = 0; t < nbTypes; t++) {
+                    charge[g] += (long) compte[g * nbTypes + t] * valeurs[t];
+                }
+            }
+            evaluateur.resynchroniser();
+        }
+
+        /**
+         * Place les maisons non connectées une à une sur le générateur qui augmente le moins le coût.
+         */
+        void placer(int[] nonConnectes) {
+            for (int t = 0; t < nbTypes; t++) {
+                for (int n = 0; n < nonConnectes[t]; n++) {
+                    int meilleur = 0;
+                    double meilleurD = Double.POSITIVE_INFINITY;
+                    for (int g = 0; g < nbGenerateurs; g++) {
+                        double d = evaluateur.deltaVariations(g, valeurs[t], -1, 0, -1, 0);
+                        if (d < meilleurD) {
+                            meilleurD = d;
+                            meilleur = g;
+                        }
+                    }
+                    compte[meilleur * nbTypes + t]++;
+                    evaluateur.transferer(-1, meilleur, valeurs[t]);
+                }
+            }
+        }
+
+        /**
+         * Applique le meilleur mouvement améliorant tant qu'il en existe.
+         */
+        void descendre(ContexteRecherche contexte) {
+            while (true) {
+                if (++pas % INTERVALLE_RESYNCHRONISATION == 0) {
+                    evaluateur.resynchroniser();
+                    if (contexte.doitArreter(evaluateur.cout())) return;
+                }
+                meilleurDelta = -HillClimbingMultiPasses.EPSILON;
+                choisirExtremes();
+                for (int a : plusCharges) {
+                    if (a < 0) continue;
+                    for (int b : moinsCharges) {
+                        if (b >= 0 && b != a) examinerCouple(a, b, true);
+                    }
+                }
+                if (meilleurDelta >= -HillClimbingMultiPasses.EPSILON && nbGenerateurs <= SEUIL_BALAYAGE) {
+                    for (int a = 0; a < nbGenerateurs; a++) {
+                        for (int b = 0; b < nbGenerateurs; b++) {
+                            if (a != b) examinerCouple(a, b, false);
+                        }
+                    }
+                }
+                if (meilleurDelta >= -HillClimbingMultiPasses.EPSILON) return;
+                appliquer();
+                mouvements++;
+            }
+        }
+
+        // transferts de a vers b (par paquets de 1, 2, 4... si {@code paquets}) et échanges de types
+        private void examinerCouple(int a, int b, boolean paquets) {
+            for (int t = 0; t < nbTypes; t++) {
+                int disponibles = compte[a * nbTypes + t];
+                for (long q = 1; q <= disponibles; q = paquets ? q * 2 : disponibles + 1) {
+                    long transfert = q * valeurs[t];
+                    double d = evaluateur.deltaVariations(a, -transfert, b, transfert, -1, 0);
+                    if (d < meilleurDelta) retenir(d, a, b, t, -1, q);
+                }
+                if (disponibles == 0) continue;
+                for (int t2 = 0; t2 < nbTypes; t2++) {
+                    if (t2 == t || compte[b * nbTypes + t2] == 0) continue;
+                    long net = valeurs[t] - valeurs[t2];
+                    double d = evaluateur.deltaVariations(a, -net, b, net, -1, 0);
+                    if (d < meilleurDelta) retenir(d, a, b, t, t2, 1);
+                }
+            }
+        }
+
+        private void retenir(double d, int a, int b, int t1, int t2, long q) {
+            meilleurDelta = d;
+            ma = a;
+            mb = b;
+            mt1 = t1;
+            mt2 = t2;
+            mq = q;
+        }
+
+        private void appliquer() {
+            compte[ma * nbTypes + mt1] -= mq;
+            compte[mb * nbTypes + mt1] += mq;
+            long net = mq * valeurs[mt1];
+            if (mt2 >= 0) {
+                compte[mb * nbTypes + mt2]--;
+                compte[ma * nbTypes + mt2]++;
+                net -= valeurs[mt2];
+            }
+            evaluateur.transferer(ma, mb, net);
+        }
+
+        /**
+         * NB_EXTREMES générateurs de plus fort et de plus faible taux d'utilisation (-1 = case vide).
+         */
+        private void choisirExtremes() {
+            Arrays.fill(plusCharges, -1);
+            Arrays.fill(moinsCharges, -1);
+            for (int g = 0; g < nbGenerateurs; g++) {
+                inserer(plusCharges, g, taux(g));
+                inserer(moinsCharges, g, -taux(g));
+            }
+        }
+
+        // garde les indices de plus grande clé, par clé décroissante (la clé est recalculée par taux)
+        private void inserer(int[] extremes, int g, double cle) {
+            int k = extremes.length - 1;
+            if (extremes[k] >= 0 && cle <= cleDe(extremes, extremes[k])) return;
+            while (k > 0 && (extremes[k - 1] < 0 || cle > cleDe(extremes, extremes[k - 1]))) {
+                extremes[k] = extremes[k - 1];
+                k--;
+            }
+            extremes[k] = g;
+        }
+
+        private double cleDe(int[] extremes, int g) {
+            return (extremes == plusCharges) ? taux(g) : -taux(g);
+        }
+
+        private double taux(int g) {
+            return (double) charge[g] / capacite[g];
+        }
+
+        /**
+         * Transfère une maison d'un type au hasard, max(4, G / 5) fois.
+         * @return nombre de transferts tirés
+         */
+        int perturber(SplittableRandom random) {
+            int nbPerturbations = Math.max(4, nbGenerateurs / 5);
+            for (int p = 0; p < nbPerturbations; p++) {
+                int a = random.nextInt(nbGenerateurs);
+                int b = random.nextInt(nbGenerateurs);
+                int t = random.nextInt(nbTypes);
+                if (a == b || compte[a * nbTypes + t] == 0) continue;
+                compte[a * nbTypes + t]--;
+                compte[b * nbTypes + t]++;
+                evaluateur.transferer(a, b, valeurs[t]);
+            }
+            return nbPerturbations;
+        }
+    }
+}
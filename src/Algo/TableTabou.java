@@ -0,0 +1,58 @@
+package Algo;
+
+/**
+ * Table tabou (maison, générateur) → itération d'expiration, en tableaux primitifs.
+ * Consultation et mise à jour en O(1), sans allocation pendant la recherche.
+ *
+ * Si H × G tient dans TAILLE_DENSE_MAX, la table est dense (une case par couple).
+ * Sinon elle est adressée par hachage sur une taille fixe: une collision écrase
+ * l'entrée précédente (on oublie un tabou plus tôt), ce qui est sans danger pour la recherche.
+ */
+class TableTabou {
+    private static final long TAILLE_DENSE_MAX = 1L << 24;
+    private static final int TAILLE_HACHAGE = 1 << 22;
+
+    private final int nbGenerateurs;
+    private final int[] expiration;
+    private final long[] cles; // null en mode dense
+
+    TableTabou(int nbMaisons, int nbGenerateurs) {
+        this.nbGenerateurs = nbGenerateurs;
+        long taille = (long) nbMaisons * nbGenerateurs;
+        if (taille <= TAILLE_DENSE_MAX) {
+            this.expiration = new int[(int) taille];
+            this.cles = null;
+        } else {
+            this.expiration = new int[TAILLE_HACHAGE];
+            this.cles = new long[TAILLE_HACHAGE];
+        }
+    }
+
+    /**
+     * Interdit de remettre la maison h sur le générateur g jusqu'à l'itération {@code jusqua} (exclue).
+     */
+    void interdire(int h, int g, int jusqua) {
+        long cle = (long) h * nbGenerateurs + g;
+        if (cles == null) {
+            expiration[(int) cle] = jusqua;
+        } else {
+            int i = indice(cle);
+            cles[i] = cle + 1; // 0 = case vide
+            expiration[i] = jusqua;
+        }
+    }
+
+    boolean estTabou(int h, int g, int iteration) {
+        long cle = (long) h * nbGenerateurs + g;
+        if (cles == null) {
+            return expiration[(int) cle] > iteration;
+        }
+        int i = indice(cle);
+        return cles[i] == cle + 1 && expiration[i] > iteration;
+    }
+
+    private static int indice(long cle) {
+        long x = cle * 0x9E3779B97F4A7C15L; // hachage de Fibonacci
+        return (int) (x >>> 42); // 22 bits de poids fort
+    }
+}
@@ -0,0 +1,219 @@
+package Algo;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trace de convergence d'une recherche: un échantillon (temps écoulé en ns, évaluations cumulées,
+ * coût courant, meilleur coût, passe, perturbation, événement) à chaque nouveau meilleur et à chaque
+ * étape signalée par la stratégie (voir EcouteurRecherche).
+ *
+ * Les échantillons sont écrits dans un anneau de tableaux primitifs alloués une fois: le thread
+ * de la recherche n'alloue rien et ne se bloque jamais (anneau plein = échantillon perdu et compté).
+ * Un thread d'écriture vide l'anneau toutes les PERIODE_ECRITURE_MS dans le fichier, en CSV ou
+ * en JSONL (une ligne JSON par échantillon) selon l'extension. close() écrit l'échantillon FIN,
+ * vide l'anneau et ferme le fichier.
+ */
+public class TraceConvergence extends Progression implements Closeable {
+
+    public enum Evenement { MEILLEUR, ETAPE, FIN }
+
+    private static final int CAPACITE_PAR_DEFAUT = 1 << 14;
+    private static final long PERIODE_ECRITURE_MS = 200;
+    private static final Evenement[] EVENEMENTS = Evenement.values();
+
+    private final Path fichier;
+    private final boolean jsonl;
+    private final BufferedWriter writer;
+    private final long debut = System.nanoTime();
+
+    // anneau: l'échantillon n° s occupe la case s & masque; publie[case] = s + 1 quand il est complet
+    private final int masque;
+    private final long[] nanos;
+    private final long[] evaluationsCumulees;
+    private final double[] coutsCourants;
+    private final double[] meilleursCouts;
+    private final int[] passes;
+    private final int[] perturbations;
+    private final byte[] evenements;
+    private final AtomicLongArray publie;
+    private final AtomicLong suivant = new AtomicLong();   // prochain numéro à réserver (recherches)
+    private volatile long lu;                              // prochain numéro à écrire (thread d'écriture)
+    private final LongAdder perdus = new LongAdder();
+
+    private volatile double coutCourant = Double.NaN;
+    private volatile int passe;
+    private volatile boolean ferme;
+    private final Thread ecrivain;
+    private volatile IOException erreur;
+
+    /**
+     * Ouvre (ou remplace) le fichier de trace: JSONL si son nom finit par .jsonl, CSV sinon.
+     */
+    public TraceConvergence(Path fichier) throws IOException, IllegalArgumentException {
+        this(fichier, CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * @param capacite  nombre d'échantillons en attente d'écriture (arrondi à la puissance de 2 supérieure)
+     */
+    public TraceConvergence(Path fichier, int capacite) throws IOException, IllegalArgumentException {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier de trace ne peut pas être null.");
+        }
+        if (capacite <= 0 || capacite > (1 << 24)) {
+            throw new IllegalArgumentException("La capacité de la trace doit être comprise entre 1 et 2^24.");
+        }
+        int taille = Integer.highestOneBit(capacite);
+        if (taille < capacite) taille <<= 1;
+        this.masque = taille - 1;
+        this.nanos = new long[taille];
+        this.evaluationsCumulees = new long[taille];
+        this.coutsCourants = new double[taille];
+        this.meilleursCouts = new double[taille];
+        this.passes = new int[taille];
+        this.perturbations = new int[taille];
+        this.evenements = new byte[taille];
+        this.publie = new AtomicLongArray(taille);
+
+        this.fichier = fichier;
+        this.jsonl = fichier.getFileName().toString().toLowerCase().endsWith(".jsonl");
+        Path parent = fichier.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8);
+        if (!jsonl) {
+            writer.write("nanos,evaluations,cout_courant,meilleur_cout,passe,perturbation,evenement");
+            writer.newLine();
+        }
+        this.ecrivain = new Thread(this::ecrire, "trace-convergence");
+        this.ecrivain.setDaemon(true);
+        this.ecrivain.start();
+    }
+
+    public Path getFichier() {
+        return fichier;
+    }
+
+    /**
+     * Échantillons abandonnés parce que l'anneau était plein.
+     */
+    public long getNbPerdus() {
+        return perdus.sum();
+    }
+
+    @Override
+    public void nouveauMeilleur(double cout) {
+        super.nouveauMeilleur(cout);
+        coutCourant = cout;
+        echantillonner(Evenement.MEILLEUR, cout, passe, 0);
+    }
+
+    @Override
+    public void etape(int passe, double coutCourant, int taillePerturbation) {
+        this.passe = passe;
+        this.coutCourant = coutCourant;
+        retenirMinimum(coutCourant);
+        echantillonner(Evenement.ETAPE, coutCourant, passe, taillePerturbation);
+    }
+
+    private void echantillonner(Evenement evenement, double courant, int numeroPasse, int perturbation) {
+        if (ferme) return;
+        long s;
+        do {
+            s = suivant.get();
+            if (s - lu > masque) {
+                perdus.increment();
+                return;
+            }
+        } while (!suivant.compareAndSet(s, s + 1));
+        int i = (int) (s & masque);
+        nanos[i] = System.nanoTime() - debut;
+        evaluationsCumulees[i] = getNbEvaluations();
+        coutsCourants[i] = courant;
+        meilleursCouts[i] = getMeilleurCout();
+        passes[i] = numeroPasse;
+        perturbations[i] = perturbation;
+        evenements[i] = (byte) evenement.ordinal();
+        publie.set(i, s + 1); // écriture volatile: rend la case visible au thread d'écriture
+    }
+
+    // thread d'écriture: vide l'anneau périodiquement jusqu'à la fermeture
+    private void ecrire() {
+        StringBuilder ligne = new StringBuilder(128);
+        try {
+            while (true) {
+                boolean fin = ferme;
+                vider(ligne);
+                if (fin) break;
+                LockSupport.parkNanos(PERIODE_ECRITURE_MS * 1_000_000);
+            }
+        } catch (IOException e) {
+            erreur = e;
+        }
+    }
+
+    private void vider(StringBuilder ligne) throws IOException {
+        long n = lu;
+        int i = (int) (n & masque);
+        while (publie.get(i) == n + 1) {
+            ligne.setLength(0);
+            if (jsonl) {
+                ligne.append("{\"nanos\": ").append(nanos[i])
+                     .append(", \"evaluations\": ").append(evaluationsCumulees[i])
+                     .append(", \"cout_courant\": ").append(nombreJson(coutsCourants[i]))
+                     .append(", \"meilleur_cout\": ").append(nombreJson(meilleursCouts[i]))
+                     .append(", \"passe\": ").append(passes[i])
+                     .append(", \"perturbation\": ").append(perturbations[i])
+                     .append(", \"evenement\": \"").append(EVENEMENTS[evenements[i]]).append("\"}");
+            } else {
+                ligne.append(nanos[i]).append(',').append(evaluationsCumulees[i]).append(',')
+                     .append(nombreCsv(coutsCourants[i])).append(',').append(nombreCsv(meilleursCouts[i])).append(',')
+                     .append(passes[i]).append(',').append(perturbations[i]).append(',').append(EVENEMENTS[evenements[i]]);
+            }
+            writer.append(ligne);
+            writer.newLine();
+            n++;
+            lu = n; // libère la case pour les recherches
+            i = (int) (n & masque);
+        }
+        writer.flush();
+    }
+
+    private static String nombreCsv(double valeur) {
+        return Double.isFinite(valeur) ? Double.toString(valeur) : "";
+    }
+
+    private static String nombreJson(double valeur) {
+        return Double.isFinite(valeur) ? Double.toString(valeur) : "null";
+    }
+
+    /**
+     * Écrit l'échantillon FIN puis tous les échantillons en attente, et ferme le fichier.
+     * À appeler une fois la recherche terminée.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ferme) return;
+        echantillonner(Evenement.FIN, coutCourant, passe, 0);
+        ferme = true;
+        LockSupport.unpark(ecrivain);
+        try {
+            ecrivain.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (erreur != null) {
+            throw new IOException("Erreur d'écriture de la trace " + fichier + ": " + erreur.getMessage(), erreur);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package Algo;
+
+/**
+ * Types de mouvements utilisables par les recherches locales.
+ * Tous sont évalués par delta de charges (au plus trois générateurs touchés),
+ * sans parcourir les maisons.
+ */
+public enum Voisinage {
+    DEPLACEMENT, // une maison change de générateur
+    ECHANGE,     // deux maisons de types différents échangent leurs générateurs
+    CHAINE       // chaîne de longueur 3: h1 → gen(h2), h2 → gen(h3), h3 → gen(h1)
+}
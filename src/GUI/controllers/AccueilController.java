@@ -12,6 +12,7 @@ import javafx.scene.control.TextInputDialog;
 import javafx.scene.layout.Region;
 import GUI.MainApp;
 import Modele.ReseauElectrique;
+import Modele.ResultatVerification;
 import java.io.File;
 import java.util.Optional;
 
@@ -64,6 +65,7 @@ public class AccueilController {
         fileChooser.setTitle("Ouvrir un fichier réseau");
         fileChooser.getExtensionFilters().addAll(
             new FileChooser.ExtensionFilter("Fichiers texte", "*.txt"),
+            new FileChooser.ExtensionFilter("Réseaux binaires", "*.rsb"),
             new FileChooser.ExtensionFilter("Tous les fichiers", "*.*")
         );
         
@@ -82,8 +84,9 @@ public class AccueilController {
                     MainApp.reseau = new ReseauElectrique(penalite);
                     MainApp.reseau.chargerDepuisFichier(file.getAbsolutePath());
                     
-                    if (!MainApp.reseau.verifierReseau()) {
-                        afficherErreur("Erreur", "Le réseau chargé n'est pas valide.", "");
+                    ResultatVerification verification = MainApp.reseau.verifier();
+                    if (!verification.estValide()) {
+                        afficherErreur("Erreur", "Le réseau chargé n'est pas valide.", verification.resumer(10));
                         return;
                     }
                     
@@ -152,8 +152,10 @@ public class ConstructionController {
             return;
         }
         
-        if (!MainApp.reseau.verifierReseau()) {
-            afficherErreur("Erreur", "Le réseau n'est pas valide. Toutes les maisons doivent être connectées.");
+        ResultatVerification verification = MainApp.reseau.verifier();
+        if (!verification.estValide()) {
+            afficherErreur("Erreur", "Le réseau n'est pas valide. Toutes les maisons doivent être connectées.\n"
+                    + verification.resumer(10));
             return;
         }
         
@@ -1,5 +1,7 @@
 package GUI.controllers;
 
+import javafx.animation.AnimationTimer;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.Region;
@@ -8,11 +10,25 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import GUI.MainApp;
 import Modele.*;
-import Algo.Optimiseur;
+import Algo.ContexteRecherche;
+import Algo.CritereArret;
+import Algo.HillClimbingMultiPasses;
+import Algo.OptimisationStrategy;
+import Algo.OptimiseurParallele;
+import Algo.Progression;
+import Algo.RechercheContinue;
+import Algo.ReseauCompact;
+import Algo.Sauvegarde;
 import java.io.File;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 import java.util.Optional;
 
 public class VisualisationController {
+    private static final String MODE_SEQUENTIEL = "Séquentiel";
+    private static final String MODE_PARALLELE = "Parallèle (multi-départs)";
+    private static final String MODE_TEMPS_LIMITE = "Temps limité (meilleure solution à l'échéance)";
     @FXML private BorderPane rootPane;
     
     @FXML private Label coutLabel;
@@ -21,6 +37,10 @@ public class VisualisationController {
     @FXML private ListView<String> listeGenerateurs;
     @FXML private ListView<String> listeMaisons;
     @FXML private TextArea detailsOptimisation;
+    @FXML private Button boutonOptimiser;
+    @FXML private Button boutonArreter;
+
+    private CritereArret critereEnCours; // non null pendant une optimisation
     
     @FXML
     public void initialize() {
@@ -60,6 +80,9 @@ public class VisualisationController {
     
     @FXML
     public void lancerOptimisation() {
+        if (critereEnCours != null) {
+            return; // une optimisation est déjà en cours
+        }
         TextInputDialog dialog = new TextInputDialog("100000");
         dialog.setTitle("Lancer l'optimisation");
         dialog.setHeaderText("Veuillez entrer le nombre d'itérations k");
@@ -75,27 +98,111 @@ public class VisualisationController {
                 return;
             }
 
-            double coutInitial = MainApp.reseau.calculerCoutSilencieux();
-            detailsOptimisation.clear();
-            detailsOptimisation.appendText("▶ Lancement optimisation k=" + k + "\n");
-            detailsOptimisation.appendText(String.format("Coût initial : %.3f\n", coutInitial));
-            detailsOptimisation.appendText("─────────────────────────\n");
+            ChoiceDialog<String> choixMode = new ChoiceDialog<>(MODE_SEQUENTIEL, MODE_SEQUENTIEL, MODE_PARALLELE, MODE_TEMPS_LIMITE);
+            choixMode.setTitle("Lancer l'optimisation");
+            choixMode.setHeaderText("Mode d'optimisation ("
+                    + OptimiseurParallele.nombreDepartsParDefaut() + " cœurs disponibles)");
+            choixMode.setContentText("Mode :");
+            Optional<String> mode = choixMode.showAndWait();
+            if (mode.isEmpty()) {
+                return;
+            }
+            boolean parallele = MODE_PARALLELE.equals(mode.get());
+            CritereArret critere = CritereArret.aucun(); // annulable par le bouton Arrêter
+            OptimisationStrategy strategie = new HillClimbingMultiPasses(k);
+            if (MODE_TEMPS_LIMITE.equals(mode.get())) {
+                TextInputDialog dialogDuree = new TextInputDialog("10");
+                dialogDuree.setTitle("Lancer l'optimisation");
+                dialogDuree.setHeaderText("Durée maximale de l'optimisation (k = budget de chaque relance)");
+                dialogDuree.setContentText("Secondes :");
+                Optional<String> duree = dialogDuree.showAndWait();
+                if (duree.isEmpty()) {
+                    return;
+                }
+                double secondes = Double.parseDouble(duree.get().trim());
+                critere = CritereArret.duree(Duration.ofMillis(Math.round(secondes * 1000)));
+                strategie = new RechercheContinue(strategie);
+            }
+
+            // Instantané pris sur le thread JavaFX: la recherche ne touche jamais à MainApp.reseau
+            ReseauCompact compact = new ReseauCompact(MainApp.reseau);
+            if (compact.getNbMaisons() == 0 || compact.getNbGenerateurs() == 0) {
+                showError("Réseau vide, impossible d'optimiser.");
+                return;
+            }
+            double coutInitial = compact.calculerCout();
+            int nbDeparts = parallele ? OptimiseurParallele.nombreDepartsParDefaut() : 1;
+            String entete = "▶ Lancement optimisation k=" + k
+                    + (parallele ? " (" + nbDeparts + " départs parallèles)" : "")
+                    + (critere.estLimite() ? " (jusqu'à l'échéance)" : "") + "\n"
+                    + String.format("Coût initial : %.3f\n", coutInitial)
+                    + "─────────────────────────\n";
+            detailsOptimisation.setText(entete);
+
+            Progression progression = new Progression();
+            CritereArret critereTache = critere;
+            OptimisationStrategy strategieTache = strategie;
+            Task<Double> tache = new Task<>() {
+                @Override
+                protected Double call() {
+                    if (nbDeparts == 1) {
+                        return strategieTache.optimiser(compact,
+                                new ContexteRecherche(new SplittableRandom(), false, critereTache, progression));
+                    }
+                    return OptimiseurParallele.optimiserCompact(compact, strategieTache, nbDeparts,
+                            ForkJoinPool.commonPool(), critereTache, progression);
+                }
+            };
+            AnimationTimer affichage = new AnimationTimer() {
+                private String derniereLigne = "";
+
+                @Override
+                public void handle(long maintenant) {
+                    // appelé à chaque image: au plus une mise à jour par image, et seulement si elle change
+                    String ligne = ligneProgression(progression);
+                    if (!ligne.equals(derniereLigne)) {
+                        derniereLigne = ligne;
+                        detailsOptimisation.setText(entete + ligne);
+                    }
+                }
+            };
 
-            Optimiseur.optimiserReseau(MainApp.reseau, k);
+            tache.setOnSucceeded(e -> {
+                affichage.stop();
+                terminerOptimisation();
+                // Recopie de la meilleure configuration en une fois, sur le thread JavaFX
+                compact.appliquer();
+                MainApp.reseau.effacerModifications();
+                double coutFinal = MainApp.reseau.calculerCoutSilencieux();
+                double diff = coutInitial - coutFinal;
+                double pct = (coutInitial != 0) ? (diff / coutInitial) * 100 : 0;
 
-            double coutFinal = MainApp.reseau.calculerCoutSilencieux();
-            double diff = coutInitial - coutFinal;
-            double pct = (coutInitial != 0) ? (diff / coutInitial) * 100 : 0;
+                detailsOptimisation.setText(entete);
+                detailsOptimisation.appendText((critereTache.estAnnule() ? "■ Optimisation arrêtée" : "✓ Optimisation terminée")
+                        + String.format(" (%.1f s)\n", progression.getSecondesEcoulees()));
+                detailsOptimisation.appendText(String.format("Coût final : %.3f\n", coutFinal));
+                detailsOptimisation.appendText(String.format("Amélioration : %.3f (-%.1f%%)\n", diff, pct));
 
-            detailsOptimisation.appendText("✓ Optimisation terminée\n");
-            detailsOptimisation.appendText(String.format("Coût final : %.3f\n", coutFinal));
-            detailsOptimisation.appendText(String.format("Amélioration : %.3f (-%.1f%%)\n", diff, pct));
+                rafraichirDonnees();
+                showInfo("Optimisation terminée", String.format("Amélioration : %.1f%%", pct));
+            });
+            tache.setOnFailed(e -> {
+                affichage.stop();
+                terminerOptimisation();
+                detailsOptimisation.appendText("✗ Échec de l'optimisation\n");
+                showError("Erreur pendant l'optimisation: " + tache.getException().getMessage());
+            });
 
-            rafraichirDonnees();
-            showInfo("Optimisation terminée", String.format("Amélioration : %.1f%%", pct));
+            critereEnCours = critere;
+            boutonOptimiser.setDisable(true);
+            boutonArreter.setDisable(false);
+            affichage.start();
+            Thread thread = new Thread(tache, "optimisation");
+            thread.setDaemon(true);
+            thread.start();
 
         } catch (NumberFormatException e) {
-            showError("Le nombre d'itérations doit être un entier.");
+            showError("Valeur numérique invalide.");
         } catch (IllegalArgumentException e) {
             showError(e.getMessage());
         } catch (Exception e) {
@@ -103,34 +210,45 @@ public class VisualisationController {
         }
     }
 
+    /**
+     * Arrête l'optimisation en cours: la recherche rend sa meilleure configuration, qui est appliquée.
+     */
+    @FXML
+    public void arreterOptimisation() {
+        if (critereEnCours != null) {
+            critereEnCours.annuler();
+            boutonArreter.setDisable(true);
+        }
+    }
+
+    private void terminerOptimisation() {
+        critereEnCours = null;
+        boutonOptimiser.setDisable(false);
+        boutonArreter.setDisable(true);
+    }
+
+    private static String ligneProgression(Progression progression) {
+        double meilleur = progression.getMeilleurCout();
+        return String.format("⟳ %.1f s — meilleur coût : %s (%d améliorations)\n",
+                progression.getSecondesEcoulees(),
+                Double.isInfinite(meilleur) ? "…" : String.format("%.3f", meilleur),
+                progression.getNbAmeliorations());
+    }
+
     @FXML
     public void sauvegarderReseau() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Sauvegarder le réseau optimisé");
         fileChooser.getExtensionFilters().addAll(
             new FileChooser.ExtensionFilter("Fichiers texte", "*.txt"),
+            new FileChooser.ExtensionFilter("Réseaux binaires", "*.rsb"),
             new FileChooser.ExtensionFilter("Tous les fichiers", "*.*")
         );
 
         File file = fileChooser.showSaveDialog(new Stage());
         if (file != null) {
             try {
-                java.nio.file.Path cheminFichier = file.toPath();
-                java.util.List<String> lignes = new java.util.ArrayList<>();
-
-                for (Generateur gen : MainApp.reseau.getGenerateurs()) {
-                    lignes.add("generateur(" + gen.getNom() + "," + gen.getCapaciteMax() + ").");
-                }
-                for (Maison maison : MainApp.reseau.getMaisons()) {
-                    lignes.add("maison(" + maison.getNom() + "," + maison.getTypeConsommation().name() + ").");
-                }
-                for (Generateur gen : MainApp.reseau.getGenerateurs()) {
-                    for (Maison maison : gen.getMaisonsConnectees()) {
-                        lignes.add("connexion(" + gen.getNom() + "," + maison.getNom() + ").");
-                    }
-                }
-
-                java.nio.file.Files.write(cheminFichier, lignes);
+                Sauvegarde.sauvegarderVers(MainApp.reseau, file.toPath());
                 showInfo("Succès", "Réseau sauvegardé dans :\n" + file.getAbsolutePath());
             } catch (Exception e) {
                 Alert alert = new Alert(Alert.AlertType.ERROR);
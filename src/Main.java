@@ -1,13 +1,21 @@
 import Modele.*;
 import Menu.*;
+import Outils.ResolutionLot;
 import java.util.Scanner;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class Main {
 
     private static Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
+        if (args.length >= 1 && Files.isDirectory(Path.of(args[0]))) {
+            // dossier d'instances: résolution par lot, sans menu
+            ResolutionLot.main(args);
+            return;
+        }
         if (args.length >= 2) {
             String cheminFichier = args[0];
             int penalite;
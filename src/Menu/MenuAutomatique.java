@@ -3,7 +3,14 @@ package Menu;
 import Modele.*;
 import Algo.*;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 
 public class MenuAutomatique {
     public static void run(ReseauElectrique reseau, Scanner scanner) {
@@ -19,19 +26,26 @@ public class MenuAutomatique {
                             System.out.println("Erreur: k doit être positif.");
                             break;
                         }
+                        Initialisation initialisation = choisirInitialisation(scanner);
+                        System.out.print("Trace de convergence (Entrée = aucune, sinon nom du fichier .csv ou .jsonl): ");
+                        String nomTrace = scanner.nextLine().trim();
                         System.out.println("\n--- Résolution automatique en cours... ---");
                         double coutInitial = reseau.calculerCoutSilencieux();
-                        Optimiseur.optimiserReseau(reseau, k);
-                        double coutFinal = reseau.calculerCoutSilencieux();
-                        double amelioration = coutInitial - coutFinal;
-                        System.out.println("\n=== RÉSULTAT ===");
-                        System.out.println("Coût initial: " + String.format("%.9f", coutInitial));
-                        System.out.println("Coût final: " + String.format("%.9f", coutFinal));
-                        System.out.println("Amélioration: " + amelioration + " (" + String.format("%.2f", amelioration / coutInitial * 100) + "%)");
+                        if (nomTrace.isEmpty()) {
+                            Optimiseur.optimiserReseau(reseau, k, initialisation, null);
+                        } else {
+                            try (TraceConvergence trace = new TraceConvergence(Sauvegarde.cheminDansAmeliorees(nomTrace))) {
+                                Optimiseur.optimiserReseau(reseau, k, initialisation, trace);
+                                System.out.println("Trace de convergence écrite dans " + trace.getFichier());
+                            }
+                        }
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
                     } catch (NumberFormatException e) {
                         System.out.println("Erreur: k doit être un entier valide.");
                     } catch (IllegalArgumentException e) {
                         System.out.println("Erreur: " + e.getMessage());
+                    } catch (IOException e) {
+                        System.out.println("Erreur lors de l'écriture de la trace: " + e.getMessage());
                     }
                     break;
                 case "2":
@@ -49,17 +63,262 @@ public class MenuAutomatique {
                 case "3":
                     System.out.println("Programme terminé.");
                     return;
+                case "4":
+                    System.out.print("Nombre de tentatives d'optimisation par départ (k): ");
+                    try {
+                        int k = Integer.parseInt(scanner.nextLine().trim());
+                        if (k <= 0) {
+                            System.out.println("Erreur: k doit être positif.");
+                            break;
+                        }
+                        int parDefaut = OptimiseurParallele.nombreDepartsParDefaut();
+                        System.out.print("Nombre de départs parallèles (Entrée = " + parDefaut + "): ");
+                        String saisie = scanner.nextLine().trim();
+                        int nbDeparts = saisie.isEmpty() ? parDefaut : Integer.parseInt(saisie);
+                        System.out.println("\n--- Résolution parallèle en cours... ---");
+                        double coutInitial = reseau.calculerCoutSilencieux();
+                        OptimiseurParallele.optimiserReseau(reseau, k, nbDeparts);
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
+                    } catch (NumberFormatException e) {
+                        System.out.println("Erreur: la valeur doit être un entier valide.");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Erreur: " + e.getMessage());
+                    }
+                    break;
+                case "5":
+                    try {
+                        OptimisationStrategy strategie = choisirStrategie(scanner);
+                        if (strategie == null) break;
+                        System.out.print("Nombre de départs parallèles (Entrée = 1, séquentiel): ");
+                        String saisie = scanner.nextLine().trim();
+                        int nbDeparts = saisie.isEmpty() ? 1 : Integer.parseInt(saisie);
+                        System.out.println("\n--- Résolution en cours... ---");
+                        double coutInitial = reseau.calculerCoutSilencieux();
+                        if (nbDeparts == 1) {
+                            Optimiseur.optimiser(reseau, strategie);
+                        } else {
+                            OptimiseurParallele.optimiserReseau(reseau, strategie, nbDeparts, ForkJoinPool.commonPool());
+                        }
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
+                    } catch (NumberFormatException e) {
+                        System.out.println("Erreur: la valeur doit être un entier valide.");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Erreur: " + e.getMessage());
+                    }
+                    break;
+                case "6":
+                    try {
+                        System.out.print("Durée maximale (secondes): ");
+                        double secondes = Double.parseDouble(scanner.nextLine().trim());
+                        System.out.print("Coût cible (Entrée = aucun): ");
+                        String saisieCible = scanner.nextLine().trim();
+                        double cible = saisieCible.isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(saisieCible);
+                        OptimisationStrategy strategie = choisirStrategie(scanner);
+                        if (strategie == null) break;
+                        System.out.print("Nombre de départs parallèles (Entrée = 1): ");
+                        String saisie = scanner.nextLine().trim();
+                        int nbDeparts = saisie.isEmpty() ? 1 : Integer.parseInt(saisie);
+                        if (nbDeparts <= 0) {
+                            System.out.println("Erreur: le nombre de départs doit être positif.");
+                            break;
+                        }
+
+                        CritereArret critere = new CritereArret(Duration.ofMillis(Math.round(secondes * 1000)), cible);
+                        System.out.println("\n--- Résolution en temps limité (Entrée = arrêter et garder la meilleure solution) ---");
+                        double coutInitial = reseau.calculerCoutSilencieux();
+                        OptimisationStrategy enBoucle = new RechercheContinue(strategie);
+                        Boolean termine = executerAnnulable(scanner, critere, () -> {
+                            if (nbDeparts == 1) {
+                                Optimiseur.optimiser(reseau, enBoucle, critere);
+                            } else {
+                                OptimiseurParallele.optimiserReseau(reseau, enBoucle, nbDeparts, ForkJoinPool.commonPool(), critere);
+                            }
+                            return Boolean.TRUE;
+                        });
+                        if (termine == null) break;
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
+                    } catch (NumberFormatException e) {
+                        System.out.println("Erreur: la valeur doit être un nombre valide.");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Erreur: " + e.getMessage());
+                    }
+                    break;
+                case "7":
+                    try {
+                        System.out.print("Durée maximale (secondes): ");
+                        double secondes = Double.parseDouble(scanner.nextLine().trim());
+                        CritereArret critere = CritereArret.duree(Duration.ofMillis(Math.round(secondes * 1000)));
+                        System.out.println("\n--- Résolution exacte en cours (Entrée = arrêter et garder la meilleure solution) ---");
+                        double coutInitial = reseau.calculerCoutSilencieux();
+                        ReseauCompact compact = new ReseauCompact(reseau);
+                        ResultatExact resultat = executerAnnulable(scanner, critere, () -> new BranchAndBound().resoudre(compact, critere));
+                        if (resultat == null) break; // recherche en échec: le réseau n'est pas modifié
+                        compact.appliquer();
+                        System.out.println(resultat);
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
+                    } catch (NumberFormatException e) {
+                        System.out.println("Erreur: la valeur doit être un nombre valide.");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Erreur: " + e.getMessage());
+                    }
+                    break;
+                case "8":
+                    try {
+                        Initialisation initialisation = choisirInitialisation(scanner);
+                        if (initialisation == null) {
+                            System.out.println("Aucune construction choisie.");
+                            break;
+                        }
+                        double coutInitial = reseau.calculerCoutSilencieux();
+                        Optimiseur.construire(reseau, initialisation);
+                        afficherResultat(coutInitial, reseau.calculerCoutSilencieux());
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Erreur: " + e.getMessage());
+                    }
+                    break;
                 default:
                     System.out.println("Choix invalide.");
             }
         }
     }
 
+    /**
+     * Demande l'algorithme, son budget et le voisinage.
+     * @return la stratégie choisie, ou null si le choix est invalide
+     */
+    private static OptimisationStrategy choisirStrategie(Scanner scanner) throws NumberFormatException, IllegalArgumentException {
+        System.out.println("Algorithme:");
+        System.out.println("  1. Hill Climbing multi-passes");
+        System.out.println("  2. Recuit simulé");
+        System.out.println("  3. Recherche tabou");
+        System.out.println("  4. Solveur agrégé par type de consommation");
+        System.out.print("Votre choix: ");
+        String choix = scanner.nextLine().trim();
+        switch (choix) {
+            case "1": {
+                System.out.print("Nombre de tentatives d'optimisation (k): ");
+                int k = Integer.parseInt(scanner.nextLine().trim());
+                return new HillClimbingMultiPasses(k, choisirVoisinages(scanner));
+            }
+            case "2": {
+                System.out.print("Nombre de mouvements évalués: ");
+                long budget = Long.parseLong(scanner.nextLine().trim());
+                return new RecuitSimule(budget, choisirVoisinages(scanner));
+            }
+            case "3": {
+                System.out.print("Nombre d'itérations tabou: ");
+                int nbIterations = Integer.parseInt(scanner.nextLine().trim());
+                return new RechercheTabou(nbIterations, choisirVoisinages(scanner));
+            }
+            case "4": {
+                System.out.print("Nombre de tours de perturbation: ");
+                int nbTours = Integer.parseInt(scanner.nextLine().trim());
+                return new SolveurAgrege(nbTours);
+            }
+            default:
+                System.out.println("Choix invalide.");
+                return null;
+        }
+    }
+
+    private static Set<Voisinage> choisirVoisinages(Scanner scanner) {
+        System.out.println("Voisinage:");
+        System.out.println("  1. Déplacements (défaut)");
+        System.out.println("  2. Déplacements + échanges");
+        System.out.println("  3. Déplacements + échanges + chaînes de 3");
+        System.out.print("Votre choix (Entrée = 1): ");
+        switch (scanner.nextLine().trim()) {
+            case "2":
+                return EnumSet.of(Voisinage.DEPLACEMENT, Voisinage.ECHANGE);
+            case "3":
+                return EnumSet.allOf(Voisinage.class);
+            default:
+                return EnumSet.of(Voisinage.DEPLACEMENT);
+        }
+    }
+
+    /**
+     * @return l'affectation de départ choisie, ou null pour garder les connexions actuelles
+     */
+    private static Initialisation choisirInitialisation(Scanner scanner) {
+        System.out.println("Point de départ:");
+        System.out.println("  1. Connexions actuelles (défaut)");
+        System.out.println("  2. Construction gloutonne (plus fortes consommations d'abord, générateur le moins utilisé)");
+        System.out.println("  3. Répartition proportionnelle aux capacités");
+        System.out.print("Votre choix (Entrée = 1): ");
+        switch (scanner.nextLine().trim()) {
+            case "2":
+                return Initialisation.GLOUTONNE;
+            case "3":
+                return Initialisation.PROPORTIONNELLE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Exécute la recherche dans un thread dédié; une ligne saisie pendant l'exécution
+     * annule le critère (la recherche rend alors sa meilleure solution).
+     * @return le résultat de la recherche, ou null si elle a échoué (erreur affichée) ou si
+     *         l'attente a été interrompue
+     * @throws IllegalArgumentException levée par la recherche (paramètres invalides)
+     */
+    private static <T> T executerAnnulable(Scanner scanner, CritereArret critere, Callable<T> recherche)
+            throws IllegalArgumentException {
+        FutureTask<T> tache = new FutureTask<>(recherche);
+        Thread thread = new Thread(tache, "optimisation");
+        thread.start();
+        try {
+            while (thread.isAlive()) {
+                thread.join(100);
+                if (thread.isAlive() && System.in.available() > 0) {
+                    critere.annuler();
+                    scanner.nextLine(); // consommer la ligne d'arrêt
+                    System.out.println("Arrêt demandé...");
+                    thread.join();
+                }
+            }
+        } catch (IOException e) {
+            // entrée standard indisponible: on attend simplement la fin de la recherche
+        } catch (InterruptedException e) {
+            critere.annuler();
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return tache.get();
+        } catch (InterruptedException e) {
+            critere.annuler();
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            System.out.println("Erreur pendant la recherche: " + cause);
+            return null;
+        }
+    }
+
+    private static void afficherResultat(double coutInitial, double coutFinal) {
+        double amelioration = coutInitial - coutFinal;
+        System.out.println("\n=== RÉSULTAT ===");
+        System.out.println("Coût initial: " + String.format("%.9f", coutInitial));
+        System.out.println("Coût final: " + String.format("%.9f", coutFinal));
+        System.out.println("Amélioration: " + amelioration + " (" + String.format("%.2f", amelioration / coutInitial * 100) + "%)");
+    }
+
     private static void afficherMenuAutomatique() {
         System.out.println("\n--- MENU AUTOMATIQUE ---");
         System.out.println("1. Résolution automatique");
         System.out.println("2. Sauvegarder la solution actuelle");
         System.out.println("3. Fin");
+        System.out.println("4. Résolution parallèle (multi-départs, tous les cœurs)");
+        System.out.println("5. Résolution avec choix de l'algorithme");
+        System.out.println("6. Résolution en temps limité (meilleure solution à l'échéance)");
+        System.out.println("7. Résolution exacte (branch and bound, optimum prouvé ou écart)");
+        System.out.println("8. Construction rapide (sans recherche locale, très grands réseaux)");
         System.out.print("Votre choix: ");
     }
 }
@@ -1,6 +1,7 @@
 package Menu;
 
 import Modele.*;
+import Algo.ReparationLocale;
 import java.util.Scanner;
 
 public class MenuOperation {
@@ -31,6 +32,9 @@ public class MenuOperation {
                     reseau.afficherReseau();
                     break;
                 case "4":
+                    System.out.println(ReparationLocale.reparer(reseau));
+                    break;
+                case "5":
                     System.out.println("Programme terminé.");
                     return;
                 default:
@@ -44,7 +48,8 @@ public class MenuOperation {
         System.out.println("1. Calculer le coût du réseau");
         System.out.println("2. Modifier une connexion");
         System.out.println("3. Afficher le réseau");
-        System.out.println("4. Fin");
+        System.out.println("4. Réparer localement après les modifications");
+        System.out.println("5. Fin");
         System.out.print("Votre choix: ");
     }
 }
@@ -0,0 +1,257 @@
+package Modele;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Format binaire versionné d'un réseau (extension .rsb), lu et écrit en flux par le canal
+ * du fichier à travers un tampon direct de 1 Mo (pas de projection mémoire: sous Windows, un
+ * fichier projeté ne peut être ni renommé ni supprimé tant que la projection n'est pas
+ * récupérée par le GC, ce qui bloquerait Sauvegarde). Même contenu que le format texte:
+ * noms, capacités, types et affectation; la conversion dans les deux sens est sans perte
+ * (seul l'ordre des lignes de connexion du fichier texte peut changer).
+ *
+ * Disposition (little-endian):
+ *   en-tête      int magie "RSB1", int version, int G, int H
+ *   générateurs  int[G] capacités, int[G] longueurs des noms, octets UTF-8 des noms
+ *   maisons      byte[H] types (ordinal de TypeConsommation), int[H] longueurs des noms, octets des noms
+ *   affectation  long[] de H valeurs sur b bits (g + 1, 0 = non connectée), b = bits nécessaires pour G
+ */
+public class FormatBinaire {
+    public static final String EXTENSION = ".rsb";
+
+    private static final int MAGIE = 0x31425352; // "RSB1" lu en little-endian
+    private static final int VERSION = 1;
+    private static final int TAILLE_TAMPON = 1 << 20;
+    private static final int LONGUEUR_NOM_MAX = 1 << 26;
+
+    public static boolean estBinaire(String chemin) {
+        return chemin != null && chemin.toLowerCase().endsWith(EXTENSION);
+    }
+
+    public static void ecrire(ReseauElectrique reseau, Path chemin) throws IOException, IllegalArgumentException {
+        if (reseau == null) {
+            throw new IllegalArgumentException("Le réseau ne peut pas être null.");
+        }
+        Generateur[] generateurs = reseau.getGenerateurs().toArray(new Generateur[0]);
+        Maison[] maisons = reseau.getMaisons().toArray(new Maison[0]);
+
+        byte[][] nomsGenerateurs = new byte[generateurs.length][];
+        byte[][] nomsMaisons = new byte[maisons.length][];
+        long taille = 16 + 8L * generateurs.length + 5L * maisons.length;
+        for (int g = 0; g < generateurs.length; g++) {
+            nomsGenerateurs[g] = generateurs[g].getNom().getBytes(StandardCharsets.UTF_8);
+            taille += nomsGenerateurs[g].length;
+        }
+        for (int h = 0; h < maisons.length; h++) {
+            nomsMaisons[h] = maisons[h].getNom().getBytes(StandardCharsets.UTF_8);
+            taille += nomsMaisons[h].length;
+        }
+        int bits = bitsAffectation(generateurs.length);
+        long nbMots = ((long) maisons.length * bits + 63) / 64;
+        taille += 8 * nbMots;
+
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Flux flux = new Flux(canal, false);
+            flux.putInt(MAGIE);
+            flux.putInt(VERSION);
+            flux.putInt(generateurs.length);
+            flux.putInt(maisons.length);
+
+            for (Generateur gen : generateurs) flux.putInt(gen.getCapaciteMax());
+            for (byte[] nom : nomsGenerateurs) flux.putInt(nom.length);
+            for (byte[] nom : nomsGenerateurs) flux.put(nom);
+
+            for (Maison maison : maisons) flux.putByte((byte) maison.getTypeConsommation().ordinal());
+            for (byte[] nom : nomsMaisons) flux.putInt(nom.length);
+            for (byte[] nom : nomsMaisons) flux.put(nom);
+
+            long mot = 0;
+            int remplis = 0;
+            for (Maison maison : maisons) {
+                long valeur = (maison.getGenerateur() != null) ? maison.getGenerateur().getId() + 1 : 0;
+                mot |= valeur << remplis;
+                remplis += bits;
+                if (remplis >= 64) {
+                    flux.putLong(mot);
+                    remplis -= 64;
+                    mot = (remplis > 0) ? valeur >>> (bits - remplis) : 0;
+                }
+            }
+            if (remplis > 0) flux.putLong(mot);
+            flux.vider();
+            if (canal.size() != taille) {
+                throw new IOException("taille écrite " + canal.size() + " au lieu de " + taille + " octets.");
+            }
+        }
+    }
+
+    /**
+     * Remplit les deux registres (vides) à partir d'un fichier binaire.
+     */
+    static void lire(Path chemin, Registre<Generateur> generateursParNom, Registre<Maison> maisonsParNom)
+            throws IOException, IllegalArgumentException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < 16) {
+                throw new IllegalArgumentException("Fichier binaire invalide: en-tête incomplet.");
+            }
+            Flux flux = new Flux(canal, true);
+            if (flux.getInt() != MAGIE) {
+                throw new IllegalArgumentException("Fichier binaire invalide: signature inconnue.");
+            }
+            int version = flux.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Fichier binaire invalide: version " + version + " non supportée.");
+            }
+            int nbGenerateurs = flux.getInt();
+            int nbMaisons = flux.getInt();
+            if (nbGenerateurs < 0 || nbMaisons < 0 || 8L * nbGenerateurs + 5L * nbMaisons > taille - 16) {
+                throw new IllegalArgumentException("Fichier binaire invalide: tailles incohérentes.");
+            }
+
+            Generateur[] generateurs = new Generateur[nbGenerateurs];
+            int[] capacites = new int[nbGenerateurs];
+            int[] longueurs = new int[nbGenerateurs];
+            for (int g = 0; g < nbGenerateurs; g++) capacites[g] = flux.getInt();
+            for (int g = 0; g < nbGenerateurs; g++) longueurs[g] = flux.getInt();
+            for (int g = 0; g < nbGenerateurs; g++) {
+                String nom = flux.getString(longueurs[g]).toUpperCase(Locale.ROOT); // clés du registre en majuscules
+                if (generateursParNom.identifiant(nom) >= 0) {
+                    throw new IllegalArgumentException("Fichier binaire invalide: générateur en double (" + nom + ").");
+                }
+                generateurs[g] = new Generateur(nom, capacites[g]);
+                generateurs[g].setId(generateursParNom.ajouter(nom, generateurs[g]));
+            }
+
+            TypeConsommation[] types = TypeConsommation.values();
+            byte[] typesMaisons = new byte[nbMaisons];
+            longueurs = new int[nbMaisons];
+            for (int h = 0; h < nbMaisons; h++) typesMaisons[h] = flux.getByte();
+            for (int h = 0; h < nbMaisons; h++) longueurs[h] = flux.getInt();
+            Maison[] maisons = new Maison[nbMaisons];
+            for (int h = 0; h < nbMaisons; h++) {
+                String nom = flux.getString(longueurs[h]).toUpperCase(Locale.ROOT);
+                if (typesMaisons[h] < 0 || typesMaisons[h] >= types.length) {
+                    throw new IllegalArgumentException("Fichier binaire invalide: type inconnu pour " + nom + ".");
+                }
+                if (maisonsParNom.identifiant(nom) >= 0) {
+                    throw new IllegalArgumentException("Fichier binaire invalide: maison en double (" + nom + ").");
+                }
+                maisons[h] = new Maison(nom, types[typesMaisons[h]]);
+                maisons[h].setId(maisonsParNom.ajouter(nom, maisons[h]));
+            }
+
+            int bits = bitsAffectation(nbGenerateurs);
+            long masque = (1L << bits) - 1;
+            long mot = 0;
+            int disponibles = 0;
+            for (int h = 0; h < nbMaisons; h++) {
+                long valeur;
+                if (disponibles >= bits) {
+                    valeur = mot & masque;
+                    mot >>>= bits;
+                    disponibles -= bits;
+                } else {
+                    long suivant = flux.getLong();
+                    valeur = (mot | (suivant << disponibles)) & masque;
+                    mot = (bits - disponibles < 64) ? suivant >>> (bits - disponibles) : 0;
+                    disponibles = 64 - (bits - disponibles);
+                }
+                if (valeur > nbGenerateurs) {
+                    throw new IllegalArgumentException("Fichier binaire invalide: générateur inconnu pour " + maisons[h].getNom() + ".");
+                }
+                if (valeur > 0) {
+                    generateurs[(int) valeur - 1].ajouterMaison(maisons[h]);
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Fichier binaire invalide: fichier tronqué.", e);
+        }
+    }
+
+    private static int bitsAffectation(int nbGenerateurs) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(nbGenerateurs));
+    }
+
+    /**
+     * Accès séquentiel au canal par un tampon réutilisé: vidé dans le canal quand il est plein
+     * (écriture), rechargé quand il ne contient plus la valeur demandée (lecture).
+     */
+    private static class Flux {
+        private final FileChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+
+        Flux(FileChannel canal, boolean lecture) {
+            this.canal = canal;
+            if (lecture) {
+                tampon.limit(0); // rien de chargé
+            }
+        }
+
+        // lecture: au moins n octets disponibles dans le tampon (n <= TAILLE_TAMPON)
+        private void charger(int n) throws IOException {
+            if (tampon.remaining() >= n) return;
+            tampon.compact();
+            while (tampon.position() < n) {
+                if (canal.read(tampon) < 0) {
+                    throw new IndexOutOfBoundsException("fin de fichier");
+                }
+            }
+            tampon.flip();
+        }
+
+        // écriture: au moins n octets libres dans le tampon (n <= TAILLE_TAMPON)
+        private void reserver(int n) throws IOException {
+            if (tampon.remaining() < n) {
+                vider();
+            }
+        }
+
+        int getInt() throws IOException { charger(4); return tampon.getInt(); }
+        long getLong() throws IOException { charger(8); return tampon.getLong(); }
+        byte getByte() throws IOException { charger(1); return tampon.get(); }
+
+        String getString(int longueur) throws IOException {
+            if (longueur < 0 || longueur > LONGUEUR_NOM_MAX) {
+                throw new IllegalArgumentException("Fichier binaire invalide: longueur de nom incohérente.");
+            }
+            byte[] octets = new byte[longueur];
+            for (int lus = 0; lus < longueur; ) {
+                int n = Math.min(longueur - lus, TAILLE_TAMPON);
+                charger(n);
+                tampon.get(octets, lus, n);
+                lus += n;
+            }
+            return new String(octets, StandardCharsets.UTF_8);
+        }
+
+        void putInt(int v) throws IOException { reserver(4); tampon.putInt(v); }
+        void putLong(long v) throws IOException { reserver(8); tampon.putLong(v); }
+        void putByte(byte v) throws IOException { reserver(1); tampon.put(v); }
+
+        void put(byte[] octets) throws IOException {
+            for (int ecrits = 0; ecrits < octets.length; ) {
+                int n = Math.min(octets.length - ecrits, TAILLE_TAMPON);
+                reserver(n);
+                tampon.put(octets, ecrits, n);
+                ecrits += n;
+            }
+        }
+
+        void vider() throws IOException {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                canal.write(tampon);
+            }
+            tampon.clear();
+        }
+    }
+}
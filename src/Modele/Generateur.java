@@ -1,6 +1,10 @@
 package Modele;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 
 public class Generateur {
@@ -9,8 +13,16 @@ public class Generateur {
     /*  on a pas utiliser un set car on gere ca dans le reseau electrique 
      quand on cree une connexion on verifie si la maison 
      est deja connectee a un generateur ou non (meme si le meme)'
+     chaque maison retient sa position dans la liste: contains/add/remove en O(1)
+     un retrait laisse un trou (null) pour garder l'ordre de connexion; les trous sont
+     supprimés en un passage dès qu'ils sont plus nombreux que les maisons (O(1) amorti)
     */
     private List<Maison> maisonsConnectees;
+    private int nbTrous;
+    private int nbCompactages;  // les positions changent à chaque compactage (voir VueMaisons.Parcours)
+    private VueMaisons vueMaisonsConnectees; // vue en lecture seule exposée à l'extérieur
+    private int chargeActuelle; // somme des consommations, tenue à jour à chaque ajout/retrait
+    private int id = -1;        // identifiant dense dans le réseau (voir Registre), -1 hors réseau
 
     public Generateur(String nom, int capaciteMax) {
         if (nom == null || nom.isEmpty()) {
@@ -22,12 +34,25 @@ public class Generateur {
         this.nom = nom;
         this.capaciteMax = capaciteMax;
         this.maisonsConnectees = new ArrayList<>();
+        this.vueMaisonsConnectees = new VueMaisons();
+        this.chargeActuelle = 0;
     }
 
     public String getNom() {
         return nom;
     }
 
+    /**
+     * Rang du générateur dans ReseauElectrique#getGenerateurs() (0..G-1), -1 s'il n'appartient à aucun réseau.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     public int getCapaciteMax() {
         return capaciteMax;
     }
@@ -37,35 +62,252 @@ public class Generateur {
     }
 
     public int getChargeActuelle() {
-        int charge = 0;
-        for (Maison maison : maisonsConnectees) {
-            charge += maison.getConsommation();
-        }
-        return charge;
+        return chargeActuelle;
     }
 
     public double calculerTauxUtilisation() {
         if (capaciteMax == 0) {
             return 0.0;
         }
-        return (double) getChargeActuelle() / capaciteMax;
+        return (double) chargeActuelle / capaciteMax;
+    }
+
+    public boolean contientMaison(Maison maison) {
+        int position = maison.getPositionConnexion();
+        return position >= 0 && position < maisonsConnectees.size() && maisonsConnectees.get(position) == maison;
     }
 
     public void ajouterMaison(Maison maison) {
-        if (!maisonsConnectees.contains(maison)) {
+        if (!contientMaison(maison)) {
+            maison.setPositionConnexion(maisonsConnectees.size());
             maisonsConnectees.add(maison);
+            vueMaisonsConnectees.modifiee();
+            chargeActuelle += maison.getConsommation();
             maison.setGenerateur(this);// lien bi-directionnel car on met a jour le generateur de la maison 
         }
     }
 
     public void retirerMaison(Maison maison) {
-        maisonsConnectees.remove(maison);
+        if (contientMaison(maison)) {
+            // un trou plutôt qu'un décalage de l'ArrayList; les maisons suivantes gardent leur position
+            maisonsConnectees.set(maison.getPositionConnexion(), null);
+            maison.setPositionConnexion(-1);
+            nbTrous++;
+            if (2 * nbTrous > maisonsConnectees.size()) {
+                compacter();
+            }
+            vueMaisonsConnectees.modifiee();
+            chargeActuelle -= maison.getConsommation();
+        }
         maison.setGenerateur(null);
     }
 
 
+    // retire les trous en conservant l'ordre, et renumérote les positions
+    private void compacter() {
+        int n = 0;
+        for (int i = 0; i < maisonsConnectees.size(); i++) {
+            Maison maison = maisonsConnectees.get(i);
+            if (maison != null) {
+                maison.setPositionConnexion(n);
+                maisonsConnectees.set(n++, maison);
+            }
+        }
+        maisonsConnectees.subList(n, maisonsConnectees.size()).clear();
+        nbTrous = 0;
+        nbCompactages++;
+    }
+
+    /**
+     * Maisons connectées dans l'ordre de connexion. La liste reste modifiable comme avant, mais
+     * ses ajouts et retraits passent par ajouterMaison / retirerMaison (charge et lien de la
+     * maison tenus à jour); une maison n'y figure qu'une fois.
+     */
     public List<Maison> getMaisonsConnectees() {
-        return maisonsConnectees;
+        return vueMaisonsConnectees;
+    }
+
+    /**
+     * Liste sans les trous. L'accès par indice compacte d'abord s'il reste des trous; le parcours
+     * les saute et repart de la dernière maison rendue, donc un compactage en cours de parcours
+     * (get appelé dans la boucle) ne lui fait sauter aucune maison.
+     */
+    private class VueMaisons extends AbstractList<Maison> {
+
+        void modifiee() {
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return maisonsConnectees.size() - nbTrous;
+        }
+
+        @Override
+        public Maison get(int index) {
+            if (nbTrous > 0) {
+                compacter();
+            }
+            return maisonsConnectees.get(index);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Maison && contientMaison((Maison) o);
+        }
+
+        @Override
+        public boolean add(Maison maison) {
+            if (contientMaison(verifierMaison(maison))) return false;
+            ajouterMaison(maison);
+            return true;
+        }
+
+        @Override
+        public void add(int index, Maison maison) {
+            if (index < 0 || index > size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            if (contientMaison(verifierMaison(maison))) return;
+            if (index == size()) {
+                ajouterMaison(maison);
+                return;
+            }
+            // insertion au milieu: décalage et renumérotation des maisons suivantes
+            if (nbTrous > 0) {
+                compacter();
+            }
+            maisonsConnectees.add(index, maison);
+            for (int i = index; i < maisonsConnectees.size(); i++) {
+                maisonsConnectees.get(i).setPositionConnexion(i);
+            }
+            chargeActuelle += maison.getConsommation();
+            maison.setGenerateur(Generateur.this);
+            modifiee();
+        }
+
+        @Override
+        public Maison set(int index, Maison maison) {
+            Maison ancienne = get(index);
+            if (ancienne == verifierMaison(maison)) return ancienne;
+            if (contientMaison(maison)) {
+                throw new IllegalArgumentException("La maison " + maison.getNom() + " est déjà connectée à " + nom + ".");
+            }
+            maisonsConnectees.set(index, maison);
+            maison.setPositionConnexion(index);
+            ancienne.setPositionConnexion(-1);
+            chargeActuelle += maison.getConsommation() - ancienne.getConsommation();
+            ancienne.setGenerateur(null);
+            maison.setGenerateur(Generateur.this);
+            return ancienne;
+        }
+
+        @Override
+        public Maison remove(int index) {
+            Maison maison = get(index);
+            retirerMaison(maison);
+            return maison;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) return false;
+            retirerMaison((Maison) o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            for (Maison maison : maisonsConnectees) {
+                if (maison != null) {
+                    maison.setPositionConnexion(-1);
+                    maison.setGenerateur(null);
+                }
+            }
+            maisonsConnectees.clear();
+            nbTrous = 0;
+            chargeActuelle = 0;
+            modifiee();
+        }
+
+        @Override
+        public Iterator<Maison> iterator() {
+            return new Parcours();
+        }
+
+        private Maison verifierMaison(Maison maison) {
+            if (maison == null) {
+                throw new IllegalArgumentException("La maison ne peut pas être null.");
+            }
+            return maison;
+        }
+
+        private class Parcours implements Iterator<Maison> {
+            private Maison precedente;   // dernière maison rendue par next()
+            private int positionPrecedente;
+            private int compactagesVus;
+            private Maison suivante;     // prochaine maison si elle est déjà connue
+            private boolean fin;         // plus rien après la maison retirée par remove()
+            private boolean retirable;
+            private int modCountAttendu = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return chercherSuivante() != null;
+            }
+
+            @Override
+            public Maison next() {
+                verifier();
+                Maison maison = chercherSuivante();
+                if (maison == null) {
+                    throw new NoSuchElementException();
+                }
+                precedente = maison;
+                positionPrecedente = maison.getPositionConnexion();
+                compactagesVus = nbCompactages;
+                suivante = null;
+                retirable = true;
+                return maison;
+            }
+
+            @Override
+            public void remove() {
+                if (!retirable) {
+                    throw new IllegalStateException();
+                }
+                verifier();
+                suivante = premiereApres(precedente.getPositionConnexion() + 1);
+                fin = suivante == null;
+                retirerMaison(precedente);
+                retirable = false;
+                modCountAttendu = modCount;
+            }
+
+            // après un compactage (get appelé dans la boucle), la position est relue sur la maison
+            private Maison chercherSuivante() {
+                if (suivante == null && !fin) {
+                    int debut = (precedente == null) ? 0
+                            : (compactagesVus == nbCompactages) ? positionPrecedente + 1 : precedente.getPositionConnexion() + 1;
+                    suivante = premiereApres(debut);
+                    fin = suivante == null;
+                }
+                return suivante;
+            }
+
+            private Maison premiereApres(int position) {
+                for (int i = position; i < maisonsConnectees.size(); i++) {
+                    if (maisonsConnectees.get(i) != null) return maisonsConnectees.get(i);
+                }
+                return null;
+            }
+
+            private void verifier() {
+                if (modCount != modCountAttendu) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,272 @@
+package Modele;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Lecture en flux d'un fichier d'instance (generateur(...). / maison(...). / connexion(...).).
+ *
+ * Le fichier est lu par fenêtres dans un tampon direct réutilisé (FileChannel.read, pas de
+ * projection mémoire qui empêcherait sous Windows de remplacer le fichier juste après) et
+ * découpé directement dans les octets: pas de String par ligne, pas de trim/split/toUpperCase.
+ * Seuls les noms des générateurs et des maisons deviennent des String (ce sont les clés du modèle);
+ * les noms d'une connexion sont cherchés sans allocation dans les registres, sur les octets.
+ * La mémoire utilisée est donc proportionnelle au modèle et non à la taille du fichier.
+ *
+ * Mêmes règles que l'ancien chargement par lignes: générateurs, puis maisons, puis connexions,
+ * messages d'erreur numérotés par ligne.
+ */
+class LecteurInstance {
+    private static final long TAILLE_FENETRE = 1L << 23; // 8 Mo lus à la fois
+
+    private static final byte[] GENERATEUR = "generateur(".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MAISON = "maison(".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONNEXION = "connexion(".getBytes(StandardCharsets.US_ASCII);
+
+    private final Registre<Generateur> generateurs;
+    private final Registre<Maison> maisons;
+
+    private ByteBuffer fenetre;
+    private int phase = 0;
+    private long ligneNo = 0;
+
+    private LecteurInstance(Registre<Generateur> generateurs, Registre<Maison> maisons) {
+        this.generateurs = generateurs;
+        this.maisons = maisons;
+    }
+
+    /**
+     * Remplit les deux registres (vides) à partir du fichier.
+     * @throws IllegalArgumentException au premier problème de format, avec le numéro de ligne
+     */
+    static void lire(Path chemin, Registre<Generateur> generateurs, Registre<Maison> maisons)
+            throws IOException, IllegalArgumentException {
+        new LecteurInstance(generateurs, maisons).lire(chemin);
+    }
+
+    private void lire(Path chemin) throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            fenetre = ByteBuffer.allocateDirect((int) Math.min(TAILLE_FENETRE, taille));
+            long position = 0;
+            while (position < taille) {
+                long longueur = Math.min(TAILLE_FENETRE, taille - position);
+                boolean derniere = position + longueur == taille;
+                fenetre.clear().limit((int) longueur);
+                while (fenetre.hasRemaining()) {
+                    if (canal.read(fenetre, position + fenetre.position()) < 0) {
+                        throw new IOException("fichier raccourci pendant la lecture.");
+                    }
+                }
+
+                int debutLigne = 0;
+                int limite = (int) longueur;
+                for (int i = 0; i < limite; i++) {
+                    if (fenetre.get(i) == '\n') {
+                        traiterLigne(debutLigne, i);
+                        debutLigne = i + 1;
+                    }
+                }
+                if (derniere) {
+                    if (debutLigne < limite) {
+                        traiterLigne(debutLigne, limite); // dernière ligne sans retour à la ligne
+                    }
+                } else if (debutLigne == 0) {
+                    throw new IllegalArgumentException("Erreur ligne " + (ligneNo + 1) + " : ligne trop longue.");
+                }
+                // la ligne coupée en fin de fenêtre est relue au début de la suivante
+                position += derniere ? longueur : debutLigne;
+            }
+        } finally {
+            fenetre = null;
+        }
+    }
+
+    private void traiterLigne(int debut, int fin) {
+        ligneNo++;
+        // trim
+        while (debut < fin && blanc(debut)) debut++;
+        while (fin > debut && blanc(fin - 1)) fin--;
+        if (debut == fin) return;
+
+        if (fenetre.get(fin - 1) == '.') {
+            fin--;
+            while (fin > debut && blanc(fin - 1)) fin--;
+        }
+        boolean fermee = fin > debut && fenetre.get(fin - 1) == ')';
+
+        if (fermee && commencePar(debut, fin, GENERATEUR)) {
+            if (phase > 0) {
+                throw erreur("générateurs avant maisons/connexions.");
+            }
+            int virgule = virguleUnique(debut + GENERATEUR.length, fin - 1, "format générateur invalide.");
+            String nom = nom(debut + GENERATEUR.length, virgule);
+            int capacite = entier(virgule + 1, fin - 1);
+            if (generateurs.identifiant(nom) >= 0) {
+                throw erreur("générateur en double.");
+            }
+            Generateur generateur = new Generateur(nom, capacite);
+            generateur.setId(generateurs.ajouter(nom, generateur));
+        }
+        else if (fermee && commencePar(debut, fin, MAISON)) {
+            if (generateurs.estVide()) {
+                throw erreur("définir générateurs d'abord.");
+            }
+            if (phase == 0) phase = 1;
+            else if (phase > 1) {
+                throw erreur("maisons avant connexions.");
+            }
+            int virgule = virguleUnique(debut + MAISON.length, fin - 1, "format maison invalide.");
+            String nom = nom(debut + MAISON.length, virgule);
+            TypeConsommation type = type(virgule + 1, fin - 1);
+            if (maisons.identifiant(nom) >= 0) {
+                throw erreur("maison en double.");
+            }
+            Maison maison = new Maison(nom, type);
+            maison.setId(maisons.ajouter(nom, maison));
+        }
+        else if (fermee && commencePar(debut, fin, CONNEXION)) {
+            if (maisons.estVide()) {
+                throw erreur("définir maisons d'abord.");
+            }
+            phase = 2;
+            int virgule = virguleUnique(debut + CONNEXION.length, fin - 1, "format connexion invalide.");
+            int debut1 = debut + CONNEXION.length;
+            int fin2 = fin - 1;
+
+            int g = chercher(generateurs, debut1, virgule);
+            int h = chercher(maisons, virgule + 1, fin2);
+            if (g < 0 || h < 0) {
+                g = chercher(generateurs, virgule + 1, fin2);
+                h = chercher(maisons, debut1, virgule);
+            }
+            if (g < 0 || h < 0) {
+                throw erreur("élément inconnu.");
+            }
+            Maison maison = maisons.get(h);
+            if (maison.getGenerateur() != null) {
+                throw erreur("maison déjà connectée.");
+            }
+            generateurs.get(g).ajouterMaison(maison);
+        } else {
+            throw erreur("format inconnu.");
+        }
+    }
+
+    /**
+     * Blanc au sens de String.trim(): octet de 0 à ' ', comparé non signé (les octets UTF-8
+     * des caractères accentués sont négatifs et font partie du nom).
+     */
+    private boolean blanc(int i) {
+        return (fenetre.get(i) & 0xFF) <= ' ';
+    }
+
+    private IllegalArgumentException erreur(String message) {
+        return new IllegalArgumentException("Erreur ligne " + ligneNo + " : " + message);
+    }
+
+    /**
+     * Préfixe comparé sans tenir compte de la casse (mots-clés ASCII en minuscules).
+     */
+    private boolean commencePar(int debut, int fin, byte[] prefixe) {
+        if (fin - debut < prefixe.length) return false;
+        for (int i = 0; i < prefixe.length; i++) {
+            byte b = fenetre.get(debut + i);
+            if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+            if (b != prefixe[i]) return false;
+        }
+        return true;
+    }
+
+    private int virguleUnique(int debut, int fin, String message) {
+        int virgule = -1;
+        for (int i = debut; i < fin; i++) {
+            if (fenetre.get(i) == ',') {
+                if (virgule >= 0) throw erreur(message);
+                virgule = i;
+            }
+        }
+        if (virgule < 0) throw erreur(message);
+        return virgule;
+    }
+
+    /**
+     * Nom en majuscules, sans les blancs autour.
+     */
+    private String nom(int debut, int fin) {
+        while (debut < fin && blanc(debut)) debut++;
+        while (fin > debut && blanc(fin - 1)) fin--;
+        char[] caracteres = new char[fin - debut];
+        for (int i = debut; i < fin; i++) {
+            byte b = fenetre.get(i);
+            if (b < 0) {
+                return texte(debut, fin).toUpperCase(Locale.ROOT); // non ASCII: décodage UTF-8 complet
+            }
+            caracteres[i - debut] = (char) ((b >= 'a' && b <= 'z') ? b - ('a' - 'A') : b);
+        }
+        return new String(caracteres);
+    }
+
+    private String texte(int debut, int fin) {
+        byte[] octets = new byte[fin - debut];
+        fenetre.get(debut, octets);
+        return new String(octets, StandardCharsets.UTF_8).trim();
+    }
+
+    private int entier(int debut, int fin) {
+        while (debut < fin && blanc(debut)) debut++;
+        while (fin > debut && blanc(fin - 1)) fin--;
+        int i = debut;
+        boolean negatif = false;
+        if (i < fin && (fenetre.get(i) == '-' || fenetre.get(i) == '+')) {
+            negatif = fenetre.get(i) == '-';
+            i++;
+        }
+        if (i == fin) {
+            throw new NumberFormatException("For input string: \"" + texte(debut, fin) + "\"");
+        }
+        long valeur = 0;
+        for (; i < fin; i++) {
+            byte b = fenetre.get(i);
+            if (b < '0' || b > '9' || valeur > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + texte(debut, fin) + "\"");
+            }
+            valeur = valeur * 10 + (b - '0');
+        }
+        valeur = negatif ? -valeur : valeur;
+        if (valeur > Integer.MAX_VALUE || valeur < Integer.MIN_VALUE) {
+            throw new NumberFormatException("For input string: \"" + texte(debut, fin) + "\"");
+        }
+        return (int) valeur;
+    }
+
+    private TypeConsommation type(int debut, int fin) {
+        while (debut < fin && blanc(debut)) debut++;
+        while (fin > debut && blanc(fin - 1)) fin--;
+        for (TypeConsommation type : TypeConsommation.values()) {
+            if (egalIgnorerCasse(debut, fin, type.name())) return type;
+        }
+        return TypeConsommation.valueOf(nom(debut, fin)); // lève la même exception qu'avant
+    }
+
+    private boolean egalIgnorerCasse(int debut, int fin, String majuscules) {
+        if (fin - debut != majuscules.length()) return false;
+        for (int i = debut; i < fin; i++) {
+            byte b = fenetre.get(i);
+            if (b >= 'a' && b <= 'z') b -= 'a' - 'A';
+            if (b != majuscules.charAt(i - debut)) return false;
+        }
+        return true;
+    }
+
+    // identifiant du nom lu dans [debut, fin), -1 s'il est inconnu
+    private int chercher(Registre<?> registre, int debut, int fin) {
+        while (debut < fin && blanc(debut)) debut++;
+        while (fin > debut && blanc(fin - 1)) fin--;
+        return registre.identifiant(fenetre, debut, fin);
+    }
+}
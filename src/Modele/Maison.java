@@ -4,6 +4,8 @@ public class Maison {
     private TypeConsommation typeConsommation;
     private int consommation;
     private Generateur generateur;
+    private int positionConnexion; // indice dans la liste du générateur (-1 si non connectée)
+    private int id = -1;           // identifiant dense dans le réseau (voir Registre), -1 hors réseau
 
     public Maison(String nom, TypeConsommation typeConsommation) {
         if (nom == null || nom.isEmpty()) {
@@ -16,12 +18,24 @@ public class Maison {
         this.typeConsommation = typeConsommation;
         this.consommation = typeConsommation.getValeur();
         this.generateur = null;
+        this.positionConnexion = -1;
     }
 
     public String getNom() {
         return nom;
     }
 
+    /**
+     * Rang de la maison dans ReseauElectrique#getMaisons() (0..H-1), -1 si elle n'appartient à aucun réseau.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     public int getConsommation() {
         return consommation;
     }
@@ -38,6 +52,15 @@ public class Maison {
         this.generateur = generateur;
     }
 
+    // géré uniquement par Generateur (même package)
+    int getPositionConnexion() {
+        return positionConnexion;
+    }
+
+    void setPositionConnexion(int positionConnexion) {
+        this.positionConnexion = positionConnexion;
+    }
+
     @Override
     public String toString() {
         return nom + " (" + typeConsommation.name() + ", " + consommation + "kW)";
@@ -0,0 +1,163 @@
+package Modele;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Noms → identifiants denses (0, 1, 2... dans l'ordre d'ajout) → éléments du réseau.
+ *
+ * Les noms sont rangés en majuscules et cherchés sans tenir compte de la casse, directement
+ * sur les caractères (API) ou les octets (lecture de fichier): pas de toUpperCase ni de
+ * String intermédiaire pour un nom ASCII. Table à adressage ouvert qui ne stocke que les
+ * identifiants; noms et éléments sont dans des tableaux indexés par identifiant, ce qui
+ * permet au reste du modèle et aux algorithmes de travailler sur des entiers.
+ */
+final class Registre<T> {
+    private int[] table = new int[16];          // identifiant + 1, 0 = case libre
+    private final ArrayList<String> noms = new ArrayList<>();
+    private final ArrayList<T> elements = new ArrayList<>();
+    private final List<T> vueElements = Collections.unmodifiableList(elements);
+
+    int taille() {
+        return elements.size();
+    }
+
+    boolean estVide() {
+        return elements.isEmpty();
+    }
+
+    T get(int id) {
+        return elements.get(id);
+    }
+
+    String nom(int id) {
+        return noms.get(id);
+    }
+
+    /**
+     * Éléments dans l'ordre des identifiants (= ordre d'ajout), en lecture seule.
+     */
+    List<T> elements() {
+        return vueElements;
+    }
+
+    /**
+     * @param nomMajuscules  nom absent du registre, déjà en majuscules
+     * @return l'identifiant attribué
+     */
+    int ajouter(String nomMajuscules, T element) {
+        int id = elements.size();
+        noms.add(nomMajuscules);
+        elements.add(element);
+        if (2 * (id + 1) > table.length) {
+            agrandir();
+        } else {
+            inserer(id);
+        }
+        return id;
+    }
+
+    void remplacer(int id, T element) {
+        elements.set(id, element);
+    }
+
+    /**
+     * @return l'identifiant du nom (casse indifférente), ou -1 s'il est inconnu
+     */
+    int identifiant(String nom) {
+        int longueur = nom.length();
+        int hachage = 0;
+        for (int i = 0; i < longueur; i++) {
+            char c = nom.charAt(i);
+            if (c >= 0x80) {
+                return identifiantExact(nom.toUpperCase(Locale.ROOT)); // non ASCII: majuscules Unicode complètes
+            }
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            hachage = 31 * hachage + c; // = String.hashCode() du nom en majuscules
+        }
+        int masque = table.length - 1;
+        for (int i = melanger(hachage) & masque; table[i] != 0; i = (i + 1) & masque) {
+            String cle = noms.get(table[i] - 1);
+            if (cle.hashCode() == hachage && egalIgnorerCasse(nom, cle)) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Même recherche sur les octets [debut, fin) d'un tampon (nom sans blancs autour).
+     */
+    int identifiant(ByteBuffer octets, int debut, int fin) {
+        int hachage = 0;
+        for (int i = debut; i < fin; i++) {
+            byte b = octets.get(i);
+            if (b < 0) {
+                byte[] utf8 = new byte[fin - debut];
+                octets.get(debut, utf8);
+                return identifiantExact(new String(utf8, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT));
+            }
+            if (b >= 'a' && b <= 'z') b -= 'a' - 'A';
+            hachage = 31 * hachage + b;
+        }
+        int masque = table.length - 1;
+        for (int i = melanger(hachage) & masque; table[i] != 0; i = (i + 1) & masque) {
+            String cle = noms.get(table[i] - 1);
+            if (cle.hashCode() == hachage && egalIgnorerCasse(octets, debut, fin, cle)) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int identifiantExact(String majuscules) {
+        int masque = table.length - 1;
+        for (int i = melanger(majuscules.hashCode()) & masque; table[i] != 0; i = (i + 1) & masque) {
+            if (noms.get(table[i] - 1).equals(majuscules)) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean egalIgnorerCasse(String nom, String majuscules) {
+        if (nom.length() != majuscules.length()) return false;
+        for (int i = 0; i < nom.length(); i++) {
+            char c = nom.charAt(i);
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            if (c != majuscules.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean egalIgnorerCasse(ByteBuffer octets, int debut, int fin, String majuscules) {
+        if (fin - debut != majuscules.length()) return false;
+        for (int i = debut; i < fin; i++) {
+            byte b = octets.get(i);
+            if (b >= 'a' && b <= 'z') b -= 'a' - 'A';
+            if (b != majuscules.charAt(i - debut)) return false;
+        }
+        return true;
+    }
+
+    private void inserer(int id) {
+        int masque = table.length - 1;
+        int i = melanger(noms.get(id).hashCode()) & masque;
+        while (table[i] != 0) i = (i + 1) & masque;
+        table[i] = id + 1;
+    }
+
+    private void agrandir() {
+        table = new int[table.length * 2];
+        for (int id = 0; id < noms.size(); id++) {
+            inserer(id);
+        }
+    }
+
+    private static int melanger(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,24 +1,29 @@
 package Modele;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
 public class ReseauElectrique {
 
-    //   Map des maisons du réseau, indexées par leur nom.
-    //   LinkedHashMap pour préserver l'ordre d'insertion (aligné sur le fichier chargé).
-    private Map<String, Maison> maisons;
-    private Map<String, Generateur> generateurs; // pareil pour les générateurs
+    //   Maisons et générateurs numérotés 0, 1, 2... dans l'ordre d'insertion (aligné sur le fichier chargé).
+    //   Les noms ne servent qu'à l'entrée (API, fichier): ils sont résolus une fois en identifiant,
+    //   tout le reste travaille sur les identifiants et les objets.
+    private Registre<Maison> maisons;
+    private Registre<Generateur> generateurs;
     private int penalite; // val par défaut = 10
+    // touchés par une modification depuis la dernière optimisation (réparation locale, voir Algo.ReparationLocale)
+    private final Set<Generateur> generateursModifies = new LinkedHashSet<>();
+    private final Set<Maison> maisonsModifiees = new LinkedHashSet<>();
  
     public ReseauElectrique(int penalite) throws IllegalArgumentException {
         if (penalite <= 0) {
             throw new IllegalArgumentException("La pénalité doit être positive (>0).");
         }
-        this.maisons = new LinkedHashMap<>();
-        this.generateurs = new LinkedHashMap<>();
+        this.maisons = new Registre<>();
+        this.generateurs = new Registre<>();
         this.penalite = penalite;
     }
     public ReseauElectrique() throws IllegalArgumentException {
@@ -26,97 +31,77 @@ public class ReseauElectrique {
         this(10);
     }
 
+    /**
+     * Maisons dans l'ordre de leurs identifiants: la maison d'identifiant h est en position h.
+     */
     public Collection<Maison> getMaisons() {
-        return maisons.values();
+        return maisons.elements();
     }
     public Collection<Generateur> getGenerateurs() {
-        return generateurs.values();
+        return generateurs.elements();
+    }
+
+    public Maison getMaison(int id) {
+        return maisons.get(id);
+    }
+
+    public Generateur getGenerateur(int id) {
+        return generateurs.get(id);
+    }
+
+    /**
+     * @return l'identifiant de la maison (nom sans tenir compte de la casse), ou -1 si elle n'existe pas
+     */
+    public int identifiantMaison(String nom) {
+        return (nom == null) ? -1 : maisons.identifiant(nom);
+    }
+
+    /**
+     * @return l'identifiant du générateur (nom sans tenir compte de la casse), ou -1 s'il n'existe pas
+     */
+    public int identifiantGenerateur(String nom) {
+        return (nom == null) ? -1 : generateurs.identifiant(nom);
+    }
+    public int getPenalite() {
+        return penalite;
+    }
+
+    /**
+     * Générateurs dont la capacité ou les connexions ont changé depuis le dernier
+     * {@link #effacerModifications()} (ou le chargement du fichier).
+     */
+    public Collection<Generateur> getGenerateursModifies() {
+        return Collections.unmodifiableSet(generateursModifies);
+    }
+
+    /**
+     * Maisons ajoutées ou déconnectées depuis le dernier {@link #effacerModifications()}.
+     */
+    public Collection<Maison> getMaisonsModifiees() {
+        return Collections.unmodifiableSet(maisonsModifiees);
+    }
+
+    /**
+     * À appeler une fois le réseau (ré)optimisé: les modifications suivantes repartent de zéro.
+     */
+    public void effacerModifications() {
+        generateursModifies.clear();
+        maisonsModifiees.clear();
     }
 
     public boolean chargerDepuisFichier(String cheminFichier) throws IOException, IllegalArgumentException {
         if (cheminFichier == null || cheminFichier.trim().isEmpty()) {
             throw new IllegalArgumentException("Le chemin du fichier ne peut pas être vide.");
         }
-        Map<String, Generateur> nouveauxGenerateurs = new LinkedHashMap<>();
-        Map<String, Maison> nouvellesMaisons = new LinkedHashMap<>();
-        int phase = 0;
+        Registre<Generateur> nouveauxGenerateurs = new Registre<>();
+        Registre<Maison> nouvellesMaisons = new Registre<>();
 
         try {
-            int ligneNo = 0;
-            for (String rawLine : Files.readAllLines(Path.of(cheminFichier))) {
-                ligneNo++;
-                String line = rawLine.trim();
-                if (line.isEmpty()) continue;
-
-                if (line.endsWith(".")) {
-                    line = line.substring(0, line.length() - 1).trim();
-                }
-
-                if (line.toLowerCase().startsWith("generateur(") && line.endsWith(")")) {
-                    if (phase > 0) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : générateurs avant maisons/connexions.");
-                    }
-                    String contenu = line.substring(11, line.length() - 1);
-                    String[] parts = contenu.split(",");
-                    if (parts.length != 2) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : format générateur invalide.");
-                    }
-                    String nom = parts[0].trim().toUpperCase();
-                    int capacite = Integer.parseInt(parts[1].trim());
-                    if (nouveauxGenerateurs.containsKey(nom)) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : générateur en double.");
-                    }
-                    nouveauxGenerateurs.put(nom, new Generateur(nom, capacite));
-                }
-                else if (line.toLowerCase().startsWith("maison(") && line.endsWith(")")) {
-                    if (nouveauxGenerateurs.isEmpty()) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : définir générateurs d'abord.");
-                    }
-                    if (phase == 0) phase = 1;
-                    else if (phase > 1) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : maisons avant connexions.");
-                    }
-                    String contenu = line.substring(7, line.length() - 1);
-                    String[] parts = contenu.split(",");
-                    if (parts.length != 2) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : format maison invalide.");
-                    }
-                    String nom = parts[0].trim().toUpperCase();
-                    String type = parts[1].trim().toUpperCase();
-                    if (nouvellesMaisons.containsKey(nom)) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : maison en double.");
-                    }
-                    nouvellesMaisons.put(nom, new Maison(nom, TypeConsommation.valueOf(type)));
-                }
-                else if (line.toLowerCase().startsWith("connexion(") && line.endsWith(")")) {
-                    if (nouvellesMaisons.isEmpty()) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : définir maisons d'abord.");
-                    }
-                    phase = 2;
-                    String contenu = line.substring(10, line.length() - 1);
-                    String[] parts = contenu.split(",");
-                    if (parts.length != 2) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : format connexion invalide.");
-                    }
-                    String n1 = parts[0].trim().toUpperCase();
-                    String n2 = parts[1].trim().toUpperCase();
-
-                    Generateur gen = nouveauxGenerateurs.get(n1);
-                    Maison maison = nouvellesMaisons.get(n2);
-                    if (gen == null || maison == null) {
-                        gen = nouveauxGenerateurs.get(n2);
-                        maison = nouvellesMaisons.get(n1);
-                    }
-                    if (gen == null || maison == null) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : élément inconnu.");
-                    }
-                    if (maison.getGenerateur() != null) {
-                        throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : maison déjà connectée.");
-                    }
-                    gen.ajouterMaison(maison);
-                } else {
-                    throw new IllegalArgumentException("Erreur ligne " + ligneNo + " : format inconnu.");
-                }
+            // format choisi par l'extension: binaire (.rsb) ou texte lu en flux
+            if (FormatBinaire.estBinaire(cheminFichier)) {
+                FormatBinaire.lire(Path.of(cheminFichier), nouveauxGenerateurs, nouvellesMaisons);
+            } else {
+                LecteurInstance.lire(Path.of(cheminFichier), nouveauxGenerateurs, nouvellesMaisons);
             }
         } catch (IOException e) {
             throw new IOException("Erreur: fichier illisible (" + e.getMessage() + ").", e);
@@ -126,7 +111,8 @@ public class ReseauElectrique {
 
         this.generateurs = nouveauxGenerateurs;
         this.maisons = nouvellesMaisons;
-        System.out.println("Réseau chargé: " + generateurs.size() + " générateur(s), " + maisons.size() + " maison(s).");
+        effacerModifications();
+        System.out.println("Réseau chargé: " + generateurs.taille() + " générateur(s), " + maisons.taille() + " maison(s).");
         return true;
     }
 
@@ -137,57 +123,81 @@ public class ReseauElectrique {
         if (capaciteMax <= 0) {
             throw new IllegalArgumentException("La capacité doit être positive.");
         }
-        String nomUpper = nom.toUpperCase();
-        if (generateurs.containsKey(nomUpper)) {
-            System.out.println("Mise à jour: Le générateur " + nomUpper + " existe déjà. Capacité mise à jour.");
-            generateurs.get(nomUpper).setCapaciteMax(capaciteMax);
+        int id = generateurs.identifiant(nom);
+        if (id >= 0) {
+            Generateur generateur = generateurs.get(id);
+            System.out.println("Mise à jour: Le générateur " + generateur.getNom() + " existe déjà. Capacité mise à jour.");
+            generateur.setCapaciteMax(capaciteMax);
+            generateursModifies.add(generateur);
         } else {
-            generateurs.put(nomUpper, new Generateur(nomUpper, capaciteMax));
+            String nomUpper = nom.toUpperCase(Locale.ROOT);
+            Generateur generateur = new Generateur(nomUpper, capaciteMax);
+            generateur.setId(generateurs.ajouter(nomUpper, generateur));
+            generateursModifies.add(generateur);
             System.out.println("Générateur " + nomUpper + " ajouté avec succès.");
         }
     }
 
+    /**
+     * Ajoute une maison, ou remplace celle du même nom (nouvelle consommation): la maison remplacée
+     * garde son identifiant et est déconnectée, la nouvelle est à connecter.
+     */
     public void ajouterMaison(String nom, String typeConsommationStr) throws IllegalArgumentException {
-        TypeConsommation type = TypeConsommation.valueOf(typeConsommationStr.toUpperCase());
-        String nomUpper = nom.toUpperCase();
-        if (maisons.containsKey(nomUpper)) {
-            System.out.println("Mise à jour: La maison " + nomUpper + " existe déjà. Consommation mise à jour.");
+        TypeConsommation type = TypeConsommation.valueOf(typeConsommationStr.toUpperCase(Locale.ROOT));
+        int id = maisons.identifiant(nom);
+        Maison maison;
+        if (id >= 0) {
+            Maison ancienne = maisons.get(id);
+            System.out.println("Mise à jour: La maison " + ancienne.getNom() + " existe déjà. Consommation mise à jour.");
+            Generateur generateur = ancienne.getGenerateur();
+            if (generateur != null) {
+                generateur.retirerMaison(ancienne);
+                generateursModifies.add(generateur);
+            }
+            ancienne.setId(-1);
+            maisonsModifiees.remove(ancienne);
+            maison = new Maison(ancienne.getNom(), type);
+            maison.setId(id);
+            maisons.remplacer(id, maison);
         } else {
+            String nomUpper = nom.toUpperCase(Locale.ROOT);
+            maison = new Maison(nomUpper, type);
+            maison.setId(maisons.ajouter(nomUpper, maison));
             System.out.println("Maison " + nomUpper + " ajoutée avec succès.");
         }
-
-        maisons.put(nomUpper, new Maison(nomUpper, type));
+        maisonsModifiees.add(maison);
     }
 
     // ============================================================================
     // MÉTHODES DE GESTION DES CONNEXIONS
     // ============================================================================
-    
+
     /**
      * Crée une connexion entre une maison et un générateur.
      * Gère automatiquement l'ordre des paramètres (M1 G1 ou G1 M1).
      */
-    
-
     public void ajouterConnexion(String nom1, String nom2) throws IllegalArgumentException {
         if (nom1 == null || nom1.trim().isEmpty() || nom2 == null || nom2.trim().isEmpty()) {
             throw new IllegalArgumentException("Les noms ne peuvent pas être vides.");
         }
-        Maison maison = null;
-        Generateur generateur = null;
-
-        String k1 = nom1.toUpperCase();
-        String k2 = nom2.toUpperCase();
-
-        if (maisons.containsKey(k1) && generateurs.containsKey(k2)) {
-            maison = maisons.get(k1);
-            generateur = generateurs.get(k2);
-        } else if (maisons.containsKey(k2) && generateurs.containsKey(k1)) {
-            maison = maisons.get(k2);
-            generateur = generateurs.get(k1);
-        } else {
+        int h = maisons.identifiant(nom1);
+        int g = generateurs.identifiant(nom2);
+        if (h < 0 || g < 0) {
+            h = maisons.identifiant(nom2);
+            g = generateurs.identifiant(nom1);
+        }
+        if (h < 0 || g < 0) {
             throw new IllegalArgumentException("La maison ou le générateur n'existe pas.");
         }
+        ajouterConnexion(h, g);
+    }
+
+    /**
+     * Crée une connexion entre la maison h et le générateur g (identifiants).
+     */
+    public void ajouterConnexion(int h, int g) throws IllegalArgumentException {
+        Maison maison = maison(h);
+        Generateur generateur = generateur(g);
 
         if (maison.getGenerateur() != null) {
             if (maison.getGenerateur() == generateur) {
@@ -198,6 +208,7 @@ public class ReseauElectrique {
         }
 
         generateur.ajouterMaison(maison);
+        generateursModifies.add(generateur);
         System.out.println("Connexion créée entre " + maison.getNom() + " et " + generateur.getNom() + ".");
     }
 
@@ -209,88 +220,117 @@ public class ReseauElectrique {
         if (nom1 == null || nom1.trim().isEmpty() || nom2 == null || nom2.trim().isEmpty()) {
             throw new IllegalArgumentException("Les noms ne peuvent pas être vides.");
         }
-        Maison maison = null;
-        Generateur generateur = null;
-
-        String k1 = nom1.toUpperCase();
-        String k2 = nom2.toUpperCase();
-
-        if (maisons.containsKey(k1) && generateurs.containsKey(k2)) {
-            maison = maisons.get(k1);
-            generateur = generateurs.get(k2);
-        } else if (maisons.containsKey(k2) && generateurs.containsKey(k1)) {
-            maison = maisons.get(k2);
-            generateur = generateurs.get(k1);
-        } else {
+        int h = maisons.identifiant(nom1);
+        int g = generateurs.identifiant(nom2);
+        if (h < 0 || g < 0) {
+            h = maisons.identifiant(nom2);
+            g = generateurs.identifiant(nom1);
+        }
+        if (h < 0 || g < 0) {
             throw new IllegalArgumentException("La maison ou le générateur n'existe pas.");
         }
+        supprimerConnexion(h, g);
+    }
+
+    /**
+     * Supprime la connexion entre la maison h et le générateur g (identifiants).
+     */
+    public void supprimerConnexion(int h, int g) throws IllegalArgumentException {
+        Maison maison = maison(h);
+        Generateur generateur = generateur(g);
 
-        if (!generateur.getMaisonsConnectees().contains(maison)) {
+        if (!generateur.contientMaison(maison)) {
             throw new IllegalArgumentException("La connexion entre " + maison.getNom() + " et " + generateur.getNom() + " n'existe pas.");
         }
 
         generateur.retirerMaison(maison);
+        generateursModifies.add(generateur);
+        maisonsModifiees.add(maison);
         System.out.println("Connexion supprimée entre " + maison.getNom() + " et " + generateur.getNom() + ".");
     }
 
-    public void modifierConnexion(String nomMaisonOld, String nomGenOld, 
+    public void modifierConnexion(String nomMaisonOld, String nomGenOld,
                                    String nomMaisonNew, String nomGenNew) throws IllegalArgumentException {
         if (nomMaisonOld == null || nomGenOld == null || nomMaisonNew == null || nomGenNew == null) {
             throw new IllegalArgumentException("Les noms ne peuvent pas être null.");
         }
-        String oldM = nomMaisonOld.toUpperCase();
-        String oldG = nomGenOld.toUpperCase();
-        String newM = nomMaisonNew.toUpperCase();
-        String newG = nomGenNew.toUpperCase();
-
-        if (!maisons.containsKey(oldM) || !generateurs.containsKey(oldG)) {
+        int h = maisons.identifiant(nomMaisonOld);
+        int gOld = generateurs.identifiant(nomGenOld);
+        if (h < 0 || gOld < 0) {
             throw new IllegalArgumentException("L'ancienne connexion n'existe pas.");
         }
-        
-        Maison maison = maisons.get(oldM);
-        Generateur generateurOld = generateurs.get(oldG);
+        if (maisons.get(h).getGenerateur() != generateurs.get(gOld)) {
+            throw new IllegalArgumentException("La connexion " + nomMaisonOld + "-" + nomGenOld + " n'existe pas.");
+        }
+        int gNew = generateurs.identifiant(nomGenNew);
+        if (gNew < 0 || maisons.identifiant(nomMaisonNew) != h) {
+            throw new IllegalArgumentException("Le générateur " + nomGenNew + " n'existe pas ou le nom de la maison a changé.");
+        }
+        modifierConnexion(h, gOld, gNew);
+    }
 
+    /**
+     * Déplace la maison h du générateur gOld vers gNew (identifiants).
+     */
+    public void modifierConnexion(int h, int gOld, int gNew) throws IllegalArgumentException {
+        Maison maison = maison(h);
+        Generateur generateurOld = generateur(gOld);
+        Generateur generateurNew = generateur(gNew);
         if (maison.getGenerateur() != generateurOld) {
-            throw new IllegalArgumentException("La connexion " + nomMaisonOld + "-" + nomGenOld + " n'existe pas.");
+            throw new IllegalArgumentException("La connexion " + maison.getNom() + "-" + generateurOld.getNom() + " n'existe pas.");
         }
 
         generateurOld.retirerMaison(maison);
-        
-        if (!generateurs.containsKey(newG) || !newM.equals(oldM)) {
-            generateurOld.ajouterMaison(maison);
-            throw new IllegalArgumentException("Le générateur " + nomGenNew + " n'existe pas ou le nom de la maison a changé.");
+        ajouterConnexion(h, gNew);
+        generateursModifies.add(generateurOld);
+    }
+
+    private Maison maison(int h) {
+        if (h < 0 || h >= maisons.taille()) {
+            throw new IllegalArgumentException("Maison inconnue (identifiant " + h + ").");
         }
+        return maisons.get(h);
+    }
 
-        ajouterConnexion(nomMaisonNew, nomGenNew);
+    private Generateur generateur(int g) {
+        if (g < 0 || g >= generateurs.taille()) {
+            throw new IllegalArgumentException("Générateur inconnu (identifiant " + g + ").");
+        }
+        return generateurs.get(g);
     }
 
     public boolean verifierReseau() {
-        StringBuilder problemes = new StringBuilder();
+        ResultatVerification resultat = verifier();
+        System.out.println(resultat.getMessage());
+        return resultat.estValide();
+    }
 
-        for (Maison maison : maisons.values()) {
-            int compte = 0;
-            for (Generateur gen : generateurs.values()) {
-                if (gen.getMaisonsConnectees().contains(maison)) {
-                    compte++;
+    /**
+     * Vérifie que chaque maison est connectée à exactement un générateur, sans rien afficher.
+     * Un seul passage sur les listes de connexions des générateurs avec un compteur par maison
+     * (indexé par son identifiant): O(H + G) au lieu de tester chaque couple (maison, générateur).
+     */
+    public ResultatVerification verifier() {
+        int[] compteurs = new int[maisons.taille()];
+        for (Generateur gen : generateurs.elements()) {
+            for (Maison maison : gen.getMaisonsConnectees()) {
+                int h = maison.getId();
+                if (h >= 0 && h < compteurs.length && maisons.get(h) == maison) {
+                    compteurs[h]++;
                 }
             }
+        }
 
+        ResultatVerification resultat = new ResultatVerification();
+        for (Maison maison : maisons.elements()) {
+            int compte = compteurs[maison.getId()];
             if (compte == 0) {
-                if (problemes.length() > 0) problemes.append(", ");
-                problemes.append(maison.getNom() + " (pas de connexion)");
+                resultat.signalerNonConnectee(maison.getNom());
             } else if (compte > 1) {
-                if (problemes.length() > 0) problemes.append(", ");
-                problemes.append(maison.getNom() + " (" + compte + " connexions)");
+                resultat.signalerConnexionsMultiples(maison.getNom(), compte);
             }
         }
-
-        if (problemes.length() > 0) {
-            System.out.println("Problème: Les maisons suivantes posent problème: " + problemes.toString());
-            return false;
-        } else {
-            System.out.println("Réseau valide: Chaque maison est connectée à un unique générateur.");
-            return true;
-        }
+        return resultat;
     }
 
     // ============================================================================
@@ -302,18 +342,18 @@ public class ReseauElectrique {
         * Disp(S) = Σ |u_g - ū| pour tous les générateurs g
     */
     public double calculerDispersion() {
-        if (generateurs.isEmpty()) return 0;
+        if (generateurs.estVide()) return 0;
 
         // calcul de la moyenne des taux d'utilisation
         double sommeTaux = 0;
-        for (Generateur gen : generateurs.values()) {
+        for (Generateur gen : generateurs.elements()) {
             sommeTaux += gen.calculerTauxUtilisation();
         }
-        double moyenne = sommeTaux / generateurs.size();
+        double moyenne = sommeTaux / generateurs.taille();
         
         // calcul de la somme des écarts absoluus
         double dispersion = 0;
-        for (Generateur gen : generateurs.values()) {
+        for (Generateur gen : generateurs.elements()) {
             dispersion += Math.abs(gen.calculerTauxUtilisation() - moyenne);
         }
         
@@ -329,7 +369,7 @@ public class ReseauElectrique {
     public double calculerSurcharge() {
         double surcharge = 0;
         
-        for (Generateur gen : generateurs.values()) {
+        for (Generateur gen : generateurs.elements()) {
             double ug = gen.calculerTauxUtilisation();    
             surcharge += Math.max(0, (ug - 1));
         }
@@ -376,7 +416,7 @@ public class ReseauElectrique {
         
         // Affichage par générateurs
         System.out.println("\n--- GÉNÉRATEURS ---");
-        for (Generateur gen : generateurs.values()) {
+        for (Generateur gen : generateurs.elements()) {
             System.out.println("  " + gen);
             
             if (!gen.getMaisonsConnectees().isEmpty()) {
@@ -391,7 +431,7 @@ public class ReseauElectrique {
         
         // Affichage par maisons
         System.out.println("\n--- MAISONS ---");
-        for (Maison maison : maisons.values()) {
+        for (Maison maison : maisons.elements()) {
             Generateur gen = maison.getGenerateur();
             String genNom = (gen != null) ? gen.getNom() : "Non connectée";
             System.out.println("  " + maison + " → Générateur: " + genNom);
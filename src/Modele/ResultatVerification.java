@@ -0,0 +1,66 @@
+package Modele;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat de {@link ReseauElectrique#verifier()}: les maisons sans connexion et celles
+ * connectées à plusieurs générateurs, dans l'ordre des maisons du réseau.
+ */
+public class ResultatVerification {
+    private final List<String> maisonsNonConnectees = new ArrayList<>();
+    private final Map<String, Integer> connexionsMultiples = new LinkedHashMap<>();
+    private final List<String> diagnostics = new ArrayList<>(); // "nom (pas de connexion)" / "nom (N connexions)"
+
+    void signalerNonConnectee(String nomMaison) {
+        maisonsNonConnectees.add(nomMaison);
+        diagnostics.add(nomMaison + " (pas de connexion)");
+    }
+
+    void signalerConnexionsMultiples(String nomMaison, int nbConnexions) {
+        connexionsMultiples.put(nomMaison, nbConnexions);
+        diagnostics.add(nomMaison + " (" + nbConnexions + " connexions)");
+    }
+
+    public boolean estValide() {
+        return diagnostics.isEmpty();
+    }
+
+    public List<String> getMaisonsNonConnectees() {
+        return Collections.unmodifiableList(maisonsNonConnectees);
+    }
+
+    /**
+     * Maisons connectées à plusieurs générateurs → nombre de connexions.
+     */
+    public Map<String, Integer> getConnexionsMultiples() {
+        return Collections.unmodifiableMap(connexionsMultiples);
+    }
+
+    public List<String> getDiagnostics() {
+        return Collections.unmodifiableList(diagnostics);
+    }
+
+    /**
+     * Même message que celui affiché par {@link ReseauElectrique#verifierReseau()}.
+     */
+    public String getMessage() {
+        if (estValide()) {
+            return "Réseau valide: Chaque maison est connectée à un unique générateur.";
+        }
+        return "Problème: Les maisons suivantes posent problème: " + String.join(", ", diagnostics);
+    }
+
+    /**
+     * Liste courte pour un affichage graphique: les {@code max} premiers diagnostics puis le nombre restant.
+     */
+    public String resumer(int max) {
+        if (diagnostics.size() <= max) {
+            return String.join("\n", diagnostics);
+        }
+        return String.join("\n", diagnostics.subList(0, max))
+                + "\n… et " + (diagnostics.size() - max) + " autre(s)";
+    }
+}
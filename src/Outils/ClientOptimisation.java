@@ -0,0 +1,66 @@
+package Outils;
+import Modele.FormatBinaire;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Client minimal de {@link ServeurOptimisation}: envoie une instance (texte ou .rsb), écrit le
+ * réseau optimisé reçu et affiche les coûts. Plusieurs répétitions montrent l'effet de la JVM
+ * déjà chaude côté serveur (la première requête paie la compilation JIT, pas les suivantes).
+ *
+ * Usage: java Outils.ClientOptimisation fichier sortie [secondes] [url] [repetitions]
+ *   ex.  java Outils.ClientOptimisation instance/instance1.txt instancesAmeliorees/instance1.txt 2
+ */
+public class ClientOptimisation {
+    private static final String URL_PAR_DEFAUT = "http://127.0.0.1:8080/optimiser";
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 5) {
+            System.out.println("Usage: java Outils.ClientOptimisation fichier sortie [secondes] [url] [repetitions]");
+            return;
+        }
+        try {
+            Path fichier = Path.of(args[0]);
+            Path sortie = Path.of(args[1]);
+            String secondes = (args.length >= 3) ? args[2] : "1";
+            String url = (args.length >= 4) ? args[3] : URL_PAR_DEFAUT;
+            int repetitions = (args.length >= 5) ? Integer.parseInt(args[4]) : 1;
+            boolean binaire = FormatBinaire.estBinaire(fichier.toString());
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            HttpRequest requete = HttpRequest.newBuilder(URI.create(url + "?secondes=" + secondes))
+                    .header("Content-Type", binaire ? "application/octet-stream" : "text/plain; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofFile(fichier))
+                    .build();
+
+            for (int i = 1; i <= repetitions; i++) {
+                long debut = System.nanoTime();
+                HttpResponse<Path> reponse = client.send(requete, HttpResponse.BodyHandlers.ofFile(sortie));
+                long millis = (System.nanoTime() - debut) / 1_000_000;
+                if (reponse.statusCode() != 200) {
+                    System.out.println("Erreur " + reponse.statusCode() + ": " + Files.readString(sortie).trim());
+                    Files.deleteIfExists(sortie);
+                    return;
+                }
+                System.out.println("Requête " + i + ": coût " + reponse.headers().firstValue("X-Cout-Initial").orElse("?")
+                        + " → " + reponse.headers().firstValue("X-Cout-Final").orElse("?")
+                        + ", " + reponse.headers().firstValue("X-Reconnexions").orElse("?") + " reconnexion(s), "
+                        + millis + " ms aller-retour.");
+            }
+            System.out.println("Réseau optimisé écrit dans " + sortie);
+        } catch (NumberFormatException e) {
+            System.out.println("Erreur: le nombre de répétitions doit être un entier valide.");
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Erreur: requête interrompue.");
+        }
+    }
+}
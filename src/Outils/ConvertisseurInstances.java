@@ -0,0 +1,35 @@
+package Outils;
+import Algo.Sauvegarde;
+import Modele.ReseauElectrique;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Conversion entre le format texte et le format binaire (.rsb), selon les extensions.
+ *
+ * Usage: java Outils.ConvertisseurInstances source destination
+ *   ex.  java Outils.ConvertisseurInstances instance/charge_1M.txt instance/charge_1M.rsb
+ */
+public class ConvertisseurInstances {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java Outils.ConvertisseurInstances source destination (format choisi par l'extension, .rsb = binaire)");
+            return;
+        }
+        try {
+            ReseauElectrique reseau = new ReseauElectrique();
+            long debut = System.nanoTime();
+            reseau.chargerDepuisFichier(args[0]);
+            long lecture = System.nanoTime();
+            Sauvegarde.sauvegarderVers(reseau, Path.of(args[1]));
+            long ecriture = System.nanoTime();
+            System.out.println("Converti: " + args[0] + " → " + args[1] + " (lecture " + (lecture - debut) / 1_000_000
+                    + " ms, écriture " + (ecriture - lecture) / 1_000_000 + " ms).");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        }
+    }
+}
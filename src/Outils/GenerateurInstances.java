@@ -0,0 +1,194 @@
+package Outils;
+import Modele.TypeConsommation;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur d'instances synthétiques au format lu par ReseauElectrique.chargerDepuisFichier
+ * (generateur(...). puis maison(...). puis connexion(...).), pour les tests de charge.
+ *
+ * L'écriture est en flux: rien n'est conservé par maison. Les types des maisons sont tirés
+ * d'un SplittableRandom dédié, recréé avec la même graine pour relire la même suite lors du
+ * calcul de la consommation totale puis de l'écriture des maisons et des connexions.
+ * Mémoire O(G) (capacités des générateurs), indépendante du nombre de maisons.
+ *
+ * Usage: java Outils.GenerateurInstances fichier nbGenerateurs nbMaisons
+ *            [graine] [BASSE=0.3,NORMAL=0.5,FORTE=0.2] [ratioCapacite] [ALEATOIRE|SURCHARGEE|EQUILIBREE]
+ */
+public class GenerateurInstances {
+
+    public enum PolitiqueAffectation {
+        ALEATOIRE,  // générateur uniforme
+        SURCHARGEE, // toutes les maisons sur ~10% des générateurs
+        EQUILIBREE  // nombre de maisons par générateur proportionnel à sa capacité
+    }
+
+    private static final int TAILLE_TAMPON = 1 << 16;
+    private static final double FRACTION_SURCHARGEE = 0.1;
+
+    /**
+     * @param mix            proportion de chaque type (normalisée, les types absents valent 0)
+     * @param ratioCapacite  capacité totale / consommation totale (ex. 1.2 = 20% de marge)
+     */
+    public static void generer(Path fichier, long graine, int nbGenerateurs, int nbMaisons,
+                               Map<TypeConsommation, Double> mix, double ratioCapacite,
+                               PolitiqueAffectation politique) throws IOException, IllegalArgumentException {
+        if (fichier == null) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être null.");
+        }
+        if (nbGenerateurs <= 0 || nbMaisons <= 0) {
+            throw new IllegalArgumentException("Les nombres de générateurs et de maisons doivent être positifs.");
+        }
+        if (ratioCapacite <= 0) {
+            throw new IllegalArgumentException("Le ratio de capacité doit être positif.");
+        }
+        if (politique == null) {
+            throw new IllegalArgumentException("La politique d'affectation ne peut pas être null.");
+        }
+        TypeConsommation[] types = TypeConsommation.values();
+        double[] cumul = cumulerMix(mix, types);
+
+        // 1. Consommation totale (première lecture de la suite des types)
+        long consommationTotale = 0;
+        SplittableRandom tirageTypes = new SplittableRandom(graine);
+        for (int h = 0; h < nbMaisons; h++) {
+            consommationTotale += tirerType(tirageTypes, cumul, types).getValeur();
+        }
+
+        // 2. Capacités: poids aléatoires dans [0.5, 1.5[ normalisés sur la capacité totale visée
+        SplittableRandom random = new SplittableRandom(graine).split();
+        double[] poids = new double[nbGenerateurs];
+        double sommePoids = 0;
+        for (int g = 0; g < nbGenerateurs; g++) {
+            poids[g] = 0.5 + random.nextDouble();
+            sommePoids += poids[g];
+        }
+        int[] capacite = new int[nbGenerateurs];
+        long capaciteTotale = 0;
+        double capaciteVisee = ratioCapacite * consommationTotale;
+        for (int g = 0; g < nbGenerateurs; g++) {
+            capacite[g] = (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(capaciteVisee * poids[g] / sommePoids)));
+            capaciteTotale += capacite[g];
+        }
+
+        try (Writer sortie = new BufferedWriter(Files.newBufferedWriter(fichier, StandardCharsets.UTF_8), TAILLE_TAMPON)) {
+            for (int g = 0; g < nbGenerateurs; g++) {
+                sortie.write("generateur(gen" + (g + 1) + "," + capacite[g] + ").\n");
+            }
+
+            tirageTypes = new SplittableRandom(graine);
+            for (int h = 0; h < nbMaisons; h++) {
+                sortie.write("maison(maison" + (h + 1) + "," + tirerType(tirageTypes, cumul, types).name() + ").\n");
+            }
+
+            // 3. Connexions, une par maison
+            int nbSurchargees = Math.max(1, (int) (nbGenerateurs * FRACTION_SURCHARGEE));
+            int genEquilibre = 0;
+            long capaciteCumulee = capacite[0];
+            for (int h = 0; h < nbMaisons; h++) {
+                int g;
+                switch (politique) {
+                    case SURCHARGEE:
+                        g = random.nextInt(nbSurchargees);
+                        break;
+                    case EQUILIBREE:
+                        // la maison h occupe la position (h + 0.5) / H sur la capacité cumulée
+                        double position = (h + 0.5) / nbMaisons * capaciteTotale;
+                        while (capaciteCumulee < position && genEquilibre < nbGenerateurs - 1) {
+                            genEquilibre++;
+                            capaciteCumulee += capacite[genEquilibre];
+                        }
+                        g = genEquilibre;
+                        break;
+                    default:
+                        g = random.nextInt(nbGenerateurs);
+                }
+                sortie.write("connexion(gen" + (g + 1) + ",maison" + (h + 1) + ").\n");
+            }
+        }
+    }
+
+    private static double[] cumulerMix(Map<TypeConsommation, Double> mix, TypeConsommation[] types) throws IllegalArgumentException {
+        if (mix == null || mix.isEmpty()) {
+            throw new IllegalArgumentException("Le mélange de types ne peut pas être vide.");
+        }
+        double total = 0;
+        for (TypeConsommation type : types) {
+            double p = mix.getOrDefault(type, 0.0);
+            if (p < 0) {
+                throw new IllegalArgumentException("Proportion négative pour " + type + ".");
+            }
+            total += p;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("La somme des proportions doit être positive.");
+        }
+        double[] cumul = new double[types.length];
+        double somme = 0;
+        for (int t = 0; t < types.length; t++) {
+            somme += mix.getOrDefault(types[t], 0.0) / total;
+            cumul[t] = somme;
+        }
+        return cumul;
+    }
+
+    private static TypeConsommation tirerType(SplittableRandom random, double[] cumul, TypeConsommation[] types) {
+        double x = random.nextDouble();
+        for (int t = 0; t < types.length - 1; t++) {
+            if (x < cumul[t]) return types[t];
+        }
+        return types[types.length - 1];
+    }
+
+    /**
+     * Lit un mélange "BASSE=0.3,NORMAL=0.5,FORTE=0.2".
+     */
+    public static Map<TypeConsommation, Double> lireMix(String texte) throws IllegalArgumentException {
+        Map<TypeConsommation, Double> mix = new EnumMap<>(TypeConsommation.class);
+        for (String partie : texte.split(",")) {
+            String[] cleValeur = partie.split("=");
+            if (cleValeur.length != 2) {
+                throw new IllegalArgumentException("Format de mélange invalide: " + partie);
+            }
+            mix.put(TypeConsommation.valueOf(cleValeur[0].trim().toUpperCase(Locale.ROOT)), Double.parseDouble(cleValeur[1].trim()));
+        }
+        return mix;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java Outils.GenerateurInstances fichier nbGenerateurs nbMaisons"
+                    + " [graine] [BASSE=0.3,NORMAL=0.5,FORTE=0.2] [ratioCapacite] [ALEATOIRE|SURCHARGEE|EQUILIBREE]");
+            return;
+        }
+        try {
+            Path fichier = Path.of(args[0]);
+            int nbGenerateurs = Integer.parseInt(args[1]);
+            int nbMaisons = Integer.parseInt(args[2]);
+            long graine = (args.length > 3) ? Long.parseLong(args[3]) : 42;
+            Map<TypeConsommation, Double> mix = lireMix((args.length > 4) ? args[4] : "BASSE=0.3,NORMAL=0.5,FORTE=0.2");
+            double ratio = (args.length > 5) ? Double.parseDouble(args[5]) : 1.2;
+            PolitiqueAffectation politique = (args.length > 6)
+                    ? PolitiqueAffectation.valueOf(args[6].toUpperCase(Locale.ROOT)) : PolitiqueAffectation.ALEATOIRE;
+
+            long debut = System.nanoTime();
+            generer(fichier, graine, nbGenerateurs, nbMaisons, mix, ratio, politique);
+            System.out.println("Instance générée: " + fichier + " (" + nbGenerateurs + " générateur(s), " + nbMaisons
+                    + " maison(s), " + Files.size(fichier) / 1024 + " Ko, " + (System.nanoTime() - debut) / 1_000_000 + " ms).");
+        } catch (NumberFormatException e) {
+            System.out.println("Erreur: valeur numérique invalide (" + e.getMessage() + ").");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erreur d'écriture: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package Outils;
+import Algo.ContexteRecherche;
+import Algo.CritereArret;
+import Algo.HillClimbingMultiPasses;
+import Algo.OptimisationStrategy;
+import Algo.Progression;
+import Algo.RechercheContinue;
+import Algo.ReseauCompact;
+import Algo.Sauvegarde;
+import Algo.TraceConvergence;
+import Modele.FormatBinaire;
+import Modele.ReseauElectrique;
+import Modele.ResultatVerification;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Résolution non interactive de toutes les instances d'un dossier (.txt et .rsb), en parallèle
+ * sur un pool borné. Chaque solution est écrite sous le même nom dans le dossier de sortie,
+ * suivie d'un résumé resume.csv / resume.json (coûts initial et final, durée, évaluations par seconde).
+ *
+ * Budget par instance: un entier k (Hill Climbing k tentatives, comme optimiserReseau), ou une
+ * durée suffixée par s (ex. 5s: Hill Climbing relancé jusqu'à l'échéance).
+ *
+ * Avec un format de trace (csv ou jsonl), la trace de convergence de chaque instance est écrite
+ * à côté de sa solution (instance1.txt → instance1.trace.csv ou .trace.jsonl, voir TraceConvergence).
+ *
+ * Usage: java Outils.ResolutionLot dossier penalite budget [nbThreads] [dossierSortie] [trace]
+ *   ex.  java Outils.ResolutionLot instance 10 1000
+ *        java Outils.ResolutionLot instance 10 5s 4 instancesAmeliorees jsonl
+ */
+public class ResolutionLot {
+    private static final String DOSSIER_SORTIE = "instancesAmeliorees";
+    private static final int K_RELANCE = 1000; // HC relancé en mode temps limité
+
+    public static void main(String[] args) {
+        if (args.length < 3 || args.length > 6) {
+            System.out.println("Usage: java Outils.ResolutionLot dossier penalite budget(k ou durée en s, ex. 1000 ou 5s) "
+                    + "[nbThreads] [dossierSortie] [trace: csv ou jsonl]");
+            return;
+        }
+        try {
+            int penalite = Integer.parseInt(args[1]);
+            int nbThreads = (args.length >= 4) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            Path sortie = Path.of((args.length >= 5) ? args[4] : DOSSIER_SORTIE);
+            String formatTrace = (args.length >= 6) ? args[5] : null;
+            resoudre(Path.of(args[0]), penalite, args[2], nbThreads, sortie, formatTrace);
+        } catch (NumberFormatException e) {
+            System.out.println("Erreur: la pénalité, le budget et le nombre de threads doivent être des nombres valides.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Résout toutes les instances du dossier et écrit solutions et résumé dans {@code sortie}.
+     * Une instance illisible ou invalide ne bloque pas les autres: elle figure dans le résumé avec son erreur.
+     * @return les résultats, dans l'ordre alphabétique des fichiers
+     */
+    public static List<Resultat> resoudre(Path dossier, int penalite, String budget, int nbThreads, Path sortie)
+            throws IOException, IllegalArgumentException {
+        return resoudre(dossier, penalite, budget, nbThreads, sortie, null);
+    }
+
+    /**
+     * @param formatTrace  "csv" ou "jsonl" pour écrire la trace de convergence de chaque instance, null = aucune
+     */
+    public static List<Resultat> resoudre(Path dossier, int penalite, String budget, int nbThreads, Path sortie,
+                                          String formatTrace) throws IOException, IllegalArgumentException {
+        if (dossier == null || !Files.isDirectory(dossier)) {
+            throw new IllegalArgumentException("Dossier d'instances introuvable: " + dossier);
+        }
+        if (penalite <= 0) {
+            throw new IllegalArgumentException("La pénalité doit être positive.");
+        }
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif.");
+        }
+        if (formatTrace != null && !formatTrace.equals("csv") && !formatTrace.equals("jsonl")) {
+            throw new IllegalArgumentException("Format de trace inconnu: " + formatTrace + " (csv ou jsonl).");
+        }
+        // validation du budget avant de lancer quoi que ce soit
+        strategie(budget);
+        critere(budget);
+
+        List<Path> fichiers;
+        try (Stream<Path> contenu = Files.list(dossier)) {
+            fichiers = contenu.filter(Files::isRegularFile)
+                    .filter(f -> f.toString().toLowerCase().endsWith(".txt") || FormatBinaire.estBinaire(f.toString()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (fichiers.isEmpty()) {
+            throw new IllegalArgumentException("Aucune instance (.txt ou .rsb) dans " + dossier + ".");
+        }
+        Files.createDirectories(sortie);
+
+        System.out.println("Résolution de " + fichiers.size() + " instance(s) sur " + nbThreads + " thread(s), budget " + budget + "...");
+        long debut = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(nbThreads, fichiers.size()));
+        List<Resultat> resultats = new ArrayList<>();
+        try {
+            List<Future<Resultat>> taches = new ArrayList<>();
+            for (Path fichier : fichiers) {
+                taches.add(pool.submit(() -> resoudreInstance(fichier, penalite, budget, sortie, formatTrace)));
+            }
+            for (Future<Resultat> tache : taches) {
+                Resultat resultat = tache.get();
+                resultats.add(resultat);
+                System.out.println("  " + resultat);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Résolution par lot interrompue.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur inattendue pendant la résolution par lot.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ecrireCsv(resultats, sortie.resolve("resume.csv"));
+        ecrireJson(resultats, sortie.resolve("resume.json"));
+        System.out.println("Terminé en " + String.format("%.1f", (System.nanoTime() - debut) / 1e9) + " s; résumé: "
+                + sortie.resolve("resume.csv") + ", " + sortie.resolve("resume.json"));
+        return resultats;
+    }
+
+    private static Resultat resoudreInstance(Path fichier, int penalite, String budget, Path sortie, String formatTrace) {
+        String nom = fichier.getFileName().toString();
+        try {
+            ReseauElectrique reseau = new ReseauElectrique(penalite);
+            reseau.chargerDepuisFichier(fichier.toString());
+            ResultatVerification verification = reseau.verifier();
+            if (!verification.estValide()) {
+                return Resultat.erreur(nom, verification.resumer(1));
+            }
+
+            ReseauCompact compact = new ReseauCompact(reseau);
+            double coutInitial = compact.calculerCout();
+            Progression progression = (formatTrace == null)
+                    ? new Progression() : new TraceConvergence(sortie.resolve(nomTrace(nom, formatTrace)));
+            ContexteRecherche contexte = new ContexteRecherche(new SplittableRandom(), false, critere(budget), progression);
+            long debut = System.nanoTime();
+            double coutFinal;
+            try {
+                coutFinal = (compact.getNbMaisons() == 0 || compact.getNbGenerateurs() == 0)
+                        ? coutInitial : strategie(budget).optimiser(compact, contexte);
+            } finally {
+                if (progression instanceof TraceConvergence) {
+                    ((TraceConvergence) progression).close();
+                }
+            }
+            double secondes = (System.nanoTime() - debut) / 1e9;
+
+            compact.appliquer();
+            Sauvegarde.sauvegarderVers(reseau, sortie.resolve(nom));
+            return new Resultat(nom, null, coutInitial, coutFinal, secondes, progression.getNbEvaluations());
+        } catch (IOException | IllegalArgumentException e) {
+            return Resultat.erreur(nom, e.getMessage());
+        }
+    }
+
+    private static String nomTrace(String instance, String format) {
+        int point = instance.lastIndexOf('.');
+        return ((point > 0) ? instance.substring(0, point) : instance) + ".trace." + format;
+    }
+
+    private static boolean estDuree(String budget) {
+        return budget != null && budget.toLowerCase().endsWith("s");
+    }
+
+    private static OptimisationStrategy strategie(String budget) throws IllegalArgumentException {
+        if (budget == null) {
+            throw new IllegalArgumentException("Le budget ne peut pas être null.");
+        }
+        if (estDuree(budget)) {
+            return new RechercheContinue(new HillClimbingMultiPasses(K_RELANCE));
+        }
+        return new HillClimbingMultiPasses(Integer.parseInt(budget.trim()));
+    }
+
+    // un critère par instance: l'échéance part du début de sa résolution, pas de la file d'attente
+    private static CritereArret critere(String budget) throws IllegalArgumentException {
+        if (!estDuree(budget)) {
+            return CritereArret.aucun();
+        }
+        double secondes = Double.parseDouble(budget.substring(0, budget.length() - 1).trim());
+        return CritereArret.duree(Duration.ofNanos(Math.round(secondes * 1e9)));
+    }
+
+    private static void ecrireCsv(List<Resultat> resultats, Path fichier) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            writer.write("instance,statut,cout_initial,cout_final,secondes,evaluations,evaluations_par_seconde,erreur");
+            writer.newLine();
+            for (Resultat r : resultats) {
+                writer.write(String.format(Locale.ROOT, "%s,%s,%s,%s,%s,%d,%s,%s", csv(r.instance), r.estValide() ? "ok" : "erreur",
+                        nombre(r.coutInitial), nombre(r.coutFinal), nombre(r.secondes), r.evaluations,
+                        nombre(r.getEvaluationsParSeconde()), csv(r.erreur == null ? "" : r.erreur)));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void ecrireJson(List<Resultat> resultats, Path fichier) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            writer.write("[");
+            for (int i = 0; i < resultats.size(); i++) {
+                Resultat r = resultats.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write(String.format(Locale.ROOT,
+                        "  {\"instance\": %s, \"statut\": \"%s\", \"cout_initial\": %s, \"cout_final\": %s, \"secondes\": %s, "
+                                + "\"evaluations\": %d, \"evaluations_par_seconde\": %s, \"erreur\": %s}",
+                        json(r.instance), r.estValide() ? "ok" : "erreur", nombreJson(r.coutInitial), nombreJson(r.coutFinal),
+                        nombreJson(r.secondes), r.evaluations, nombreJson(r.getEvaluationsParSeconde()),
+                        r.erreur == null ? "null" : json(r.erreur)));
+            }
+            writer.write("\n]\n");
+        }
+    }
+
+    private static String nombre(double valeur) {
+        return Double.isNaN(valeur) ? "" : String.format(Locale.ROOT, "%.6f", valeur);
+    }
+
+    private static String nombreJson(double valeur) {
+        return Double.isNaN(valeur) ? "null" : String.format(Locale.ROOT, "%.6f", valeur);
+    }
+
+    private static String csv(String texte) {
+        if (texte.contains(",") || texte.contains("\"") || texte.contains("\n")) {
+            return "\"" + texte.replace("\"", "\"\"") + "\"";
+        }
+        return texte;
+    }
+
+    private static String json(String texte) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : texte.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Bilan d'une instance; les coûts valent NaN si elle n'a pas pu être résolue.
+     */
+    public static class Resultat {
+        private final String instance;
+        private final String erreur;
+        private final double coutInitial;
+        private final double coutFinal;
+        private final double secondes;
+        private final long evaluations;
+
+        Resultat(String instance, String erreur, double coutInitial, double coutFinal, double secondes, long evaluations) {
+            this.instance = instance;
+            this.erreur = erreur;
+            this.coutInitial = coutInitial;
+            this.coutFinal = coutFinal;
+            this.secondes = secondes;
+            this.evaluations = evaluations;
+        }
+
+        static Resultat erreur(String instance, String message) {
+            return new Resultat(instance, message, Double.NaN, Double.NaN, Double.NaN, 0);
+        }
+
+        public String getInstance() {
+            return instance;
+        }
+
+        public boolean estValide() {
+            return erreur == null;
+        }
+
+        public String getErreur() {
+            return erreur;
+        }
+
+        public double getCoutInitial() {
+            return coutInitial;
+        }
+
+        public double getCoutFinal() {
+            return coutFinal;
+        }
+
+        public double getSecondes() {
+            return secondes;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public double getEvaluationsParSeconde() {
+            return (secondes > 0) ? evaluations / secondes : 0;
+        }
+
+        @Override
+        public String toString() {
+            if (!estValide()) {
+                return instance + ": erreur (" + erreur + ")";
+            }
+            return String.format("%s: %.4f → %.4f en %.2f s (%.3g évaluations/s)", instance, coutInitial, coutFinal,
+                    secondes, getEvaluationsParSeconde());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package Outils;
+import Algo.Construction;
+import Algo.ContexteRecherche;
+import Algo.CritereArret;
+import Algo.HillClimbingMultiPasses;
+import Algo.Initialisation;
+import Algo.OptimisationStrategy;
+import Algo.Progression;
+import Algo.RechercheContinue;
+import Algo.ReseauCompact;
+import Algo.Sauvegarde;
+import Modele.FormatBinaire;
+import Modele.ReseauElectrique;
+import Modele.ResultatVerification;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service local d'optimisation: la JVM reste chaude entre deux réseaux (JIT, pas de démarrage
+ * ni de menu). Écoute en HTTP sur l'interface de bouclage uniquement.
+ *
+ *   POST /optimiser?penalite=10&secondes=2[&k=1000][&depart=gloutonne|proportionnelle]
+ *        corps: instance au format texte, ou binaire .rsb avec Content-Type application/octet-stream
+ *        réponse 200: réseau optimisé dans le même format (connexions comprises), coûts dans les
+ *        en-têtes X-Cout-Initial, X-Cout-Final, X-Secondes, X-Reconnexions, X-Evaluations
+ *        400 instance invalide, 413 corps trop gros, 503 toutes les résolutions occupées (Retry-After)
+ *   GET  /etat   résolutions en cours / maximum, requêtes traitées
+ *
+ * Concurrence bornée: au plus {@code nbResolutions} résolutions simultanées (sémaphore); au-delà,
+ * la requête est refusée tout de suite plutôt que mise en file. Le budget de temps demandé est
+ * plafonné par {@code secondesMax}; sans k ni secondes, le budget par défaut est d'une seconde.
+ *
+ * Usage: java Outils.ServeurOptimisation [port] [nbResolutions] [secondesMax]
+ *   ex.  java Outils.ServeurOptimisation 8080 4 30
+ */
+public class ServeurOptimisation {
+    private static final int PORT_PAR_DEFAUT = 8080;
+    private static final double SECONDES_PAR_DEFAUT = 1.0;
+    private static final long TAILLE_MAX = 1L << 30; // 1 Go
+    private static final int K_RELANCE = 1000;        // HC relancé en mode temps limité
+    private static final String TYPE_BINAIRE = "application/octet-stream";
+
+    private final HttpServer serveur;
+    private final ExecutorService executeur;
+    private final Semaphore resolutions;
+    private final int nbResolutions;
+    private final double secondesMax;
+    private final Path dossierTemporaire;
+    private final AtomicLong traitees = new AtomicLong();
+    private final AtomicLong refusees = new AtomicLong();
+    private final AtomicLong numero = new AtomicLong();
+
+    /**
+     * @param port  port local (0 = choisi par le système, voir getPort())
+     */
+    public ServeurOptimisation(int port, int nbResolutions, double secondesMax) throws IOException, IllegalArgumentException {
+        if (nbResolutions <= 0) {
+            throw new IllegalArgumentException("Le nombre de résolutions simultanées doit être positif.");
+        }
+        if (!(secondesMax > 0)) {
+            throw new IllegalArgumentException("Le budget maximal doit être positif.");
+        }
+        this.nbResolutions = nbResolutions;
+        this.secondesMax = secondesMax;
+        this.resolutions = new Semaphore(nbResolutions);
+        this.dossierTemporaire = Files.createTempDirectory("reseau-serveur");
+        this.serveur = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // deux threads de plus que de résolutions: /etat et les refus 503 répondent même à pleine charge
+        this.executeur = Executors.newFixedThreadPool(nbResolutions + 2);
+        serveur.setExecutor(executeur);
+        serveur.createContext("/optimiser", this::optimiser);
+        serveur.createContext("/etat", this::etat);
+    }
+
+    public void demarrer() {
+        serveur.start();
+    }
+
+    public void arreter() {
+        serveur.stop(0);
+        executeur.shutdownNow();
+        try {
+            Files.deleteIfExists(dossierTemporaire);
+        } catch (IOException e) {
+            // dossier temporaire du système: tant pis s'il reste
+        }
+    }
+
+    public int getPort() {
+        return serveur.getAddress().getPort();
+    }
+
+    private void optimiser(HttpExchange echange) throws IOException {
+        try (echange) {
+            if (!"POST".equals(echange.getRequestMethod())) {
+                repondreTexte(echange, 405, "Méthode non supportée: POST attendu.");
+                return;
+            }
+            if (!resolutions.tryAcquire()) {
+                refusees.incrementAndGet();
+                echange.getResponseHeaders().set("Retry-After", "1");
+                repondreTexte(echange, 503, "Serveur occupé: " + nbResolutions + " résolution(s) en cours.");
+                return;
+            }
+            try {
+                resoudre(echange);
+            } finally {
+                resolutions.release();
+            }
+        }
+    }
+
+    private void resoudre(HttpExchange echange) throws IOException {
+        Map<String, String> parametres = parametres(echange);
+        String type = echange.getRequestHeaders().getFirst("Content-Type");
+        boolean binaire = type != null && type.startsWith(TYPE_BINAIRE);
+        String extension = binaire ? FormatBinaire.EXTENSION : ".txt";
+        long n = numero.incrementAndGet();
+        Path entree = dossierTemporaire.resolve("requete" + n + extension);
+        Path sortie = dossierTemporaire.resolve("reponse" + n + extension);
+        try {
+            if (!copierCorps(echange.getRequestBody(), entree)) {
+                repondreTexte(echange, 413, "Instance trop volumineuse (maximum " + (TAILLE_MAX >> 20) + " Mo).");
+                return;
+            }
+
+            int penalite = Integer.parseInt(parametres.getOrDefault("penalite", "10"));
+            ReseauElectrique reseau = new ReseauElectrique(penalite);
+            try {
+                reseau.chargerDepuisFichier(entree.toString());
+            } catch (IllegalArgumentException e) {
+                // erreur dans le corps (NumberFormatException comprise), pas dans les paramètres de la requête
+                throw new IllegalArgumentException("Instance mal formée: " + e.getMessage(), e);
+            }
+            ResultatVerification verification = reseau.verifier();
+            if (!verification.estValide()) {
+                repondreTexte(echange, 400, verification.resumer(10));
+                return;
+            }
+
+            ReseauCompact compact = new ReseauCompact(reseau);
+            double coutInitial = compact.calculerCout();
+            long debut = System.nanoTime();
+            double coutFinal = coutInitial;
+            Progression progression = new Progression();
+            if (compact.getNbMaisons() > 0 && compact.getNbGenerateurs() > 0) {
+                String depart = parametres.get("depart");
+                if (depart != null) {
+                    Construction.construire(compact, Initialisation.valueOf(depart.toUpperCase(Locale.ROOT)));
+                }
+                ContexteRecherche contexte = new ContexteRecherche(new SplittableRandom(), false, critere(parametres), progression);
+                coutFinal = strategie(parametres).optimiser(compact, contexte);
+            }
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            int reconnexions = compact.appliquer();
+            Sauvegarde.sauvegarderVers(reseau, sortie);
+            traitees.incrementAndGet();
+
+            echange.getResponseHeaders().set("Content-Type", binaire ? TYPE_BINAIRE : "text/plain; charset=utf-8");
+            echange.getResponseHeaders().set("X-Cout-Initial", String.format(Locale.ROOT, "%.9f", coutInitial));
+            echange.getResponseHeaders().set("X-Cout-Final", String.format(Locale.ROOT, "%.9f", coutFinal));
+            echange.getResponseHeaders().set("X-Secondes", String.format(Locale.ROOT, "%.3f", secondes));
+            echange.getResponseHeaders().set("X-Reconnexions", Integer.toString(reconnexions));
+            echange.getResponseHeaders().set("X-Evaluations", Long.toString(progression.getNbEvaluations()));
+            long taille = Files.size(sortie);
+            echange.sendResponseHeaders(200, (taille > 0) ? taille : -1); // 0 signifierait « corps découpé » (chunked)
+            try (OutputStream corps = echange.getResponseBody()) {
+                Files.copy(sortie, corps);
+            }
+        } catch (NumberFormatException e) {
+            repondreTexte(echange, 400, "Paramètre numérique invalide: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            repondreTexte(echange, 400, e.getMessage());
+        } finally {
+            supprimer(entree);
+            supprimer(sortie);
+        }
+    }
+
+    // une erreur de suppression ne doit pas masquer la réponse (ou l'erreur) de la requête
+    private static void supprimer(Path fichier) {
+        try {
+            Files.deleteIfExists(fichier);
+        } catch (IOException e) {
+            System.out.println("Fichier temporaire non supprimé: " + fichier + " (" + e.getMessage() + ")");
+        }
+    }
+
+    private OptimisationStrategy strategie(Map<String, String> parametres) throws IllegalArgumentException {
+        String k = parametres.get("k");
+        if (k != null) {
+            return new HillClimbingMultiPasses(Integer.parseInt(k));
+        }
+        return new RechercheContinue(new HillClimbingMultiPasses(K_RELANCE));
+    }
+
+    // k seul: pas d'échéance propre mais toujours le plafond du serveur
+    private CritereArret critere(Map<String, String> parametres) throws IllegalArgumentException {
+        String saisie = parametres.get("secondes");
+        double secondes = (saisie != null) ? Double.parseDouble(saisie) : (parametres.containsKey("k") ? secondesMax : SECONDES_PAR_DEFAUT);
+        if (!(secondes > 0)) {
+            throw new IllegalArgumentException("Le budget de temps doit être positif.");
+        }
+        return CritereArret.duree(Duration.ofNanos(Math.round(Math.min(secondes, secondesMax) * 1e9)));
+    }
+
+    private void etat(HttpExchange echange) throws IOException {
+        try (echange) {
+            int enCours = nbResolutions - resolutions.availablePermits();
+            repondreTexte(echange, 200, "Résolutions en cours: " + enCours + "/" + nbResolutions
+                    + ", traitées: " + traitees.get() + ", refusées: " + refusees.get());
+        }
+    }
+
+    // false si le corps dépasse TAILLE_MAX
+    private static boolean copierCorps(InputStream corps, Path fichier) throws IOException {
+        try (InputStream entree = corps; OutputStream sortie = Files.newOutputStream(fichier)) {
+            byte[] tampon = new byte[1 << 16];
+            long total = 0;
+            int lus;
+            while ((lus = entree.read(tampon)) > 0) {
+                total += lus;
+                if (total > TAILLE_MAX) return false;
+                sortie.write(tampon, 0, lus);
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> parametres(HttpExchange echange) {
+        Map<String, String> parametres = new HashMap<>();
+        String requete = echange.getRequestURI().getRawQuery();
+        if (requete == null || requete.isEmpty()) return parametres;
+        for (String paire : requete.split("&")) {
+            int egal = paire.indexOf('=');
+            String cle = URLDecoder.decode(egal >= 0 ? paire.substring(0, egal) : paire, StandardCharsets.UTF_8);
+            String valeur = (egal >= 0) ? URLDecoder.decode(paire.substring(egal + 1), StandardCharsets.UTF_8) : "";
+            parametres.put(cle, valeur);
+        }
+        return parametres;
+    }
+
+    private static void repondreTexte(HttpExchange echange, int statut, String message) throws IOException {
+        byte[] octets = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        echange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        echange.sendResponseHeaders(statut, octets.length);
+        try (OutputStream corps = echange.getResponseBody()) {
+            corps.write(octets);
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            int port = (args.length >= 1) ? Integer.parseInt(args[0]) : PORT_PAR_DEFAUT;
+            int nbResolutions = (args.length >= 2) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            double secondesMax = (args.length >= 3) ? Double.parseDouble(args[2]) : 60;
+            ServeurOptimisation serveur = new ServeurOptimisation(port, nbResolutions, secondesMax);
+            Runtime.getRuntime().addShutdownHook(new Thread(serveur::arreter));
+            serveur.demarrer();
+            System.out.println("Serveur d'optimisation sur http://127.0.0.1:" + serveur.getPort() + "/optimiser ("
+                    + nbResolutions + " résolution(s) simultanée(s), " + secondesMax + " s maximum par requête).");
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: java Outils.ServeurOptimisation [port] [nbResolutions] [secondesMax]");
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Erreur: " + e.getMessage());
+        }
+    }
+}